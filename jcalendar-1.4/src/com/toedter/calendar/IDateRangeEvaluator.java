@@ -0,0 +1,47 @@
+/*
+ *  Copyright (C) 2011 Kai Toedter 
+ *  kai@toedter.com
+ *  www.toedter.com
+ *
+ *  This program is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public License
+ *  as published by the Free Software Foundation; either version 2
+ *  of the License, or (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program; if not, write to the Free Software
+ *  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+ */
+
+package com.toedter.calendar;
+
+import java.util.Date;
+
+/**
+ * Extension of IDateEvaluator for evaluators that can check a whole month in
+ * one call, e.g. with a single query against their backing data. JDayChooser
+ * calls evaluateMonth once per displayed month instead of calling isSpecial
+ * and isInvalid for every day, and caches the results until
+ * JDayChooser.invalidateDateEvaluations() is called.
+ */
+public interface IDateRangeEvaluator extends IDateEvaluator {
+	/**
+	 * Evaluates all days of a month.
+	 * 
+	 * @param firstDay
+	 *            the first day of the month (at 00:00:00.000)
+	 * @param dayCount
+	 *            the number of days in the month
+	 * @param special
+	 *            receives true at index d - 1 if day d is a special date
+	 * @param invalid
+	 *            receives true at index d - 1 if day d cannot be selected
+	 */
+	void evaluateMonth(Date firstDay, int dayCount, boolean[] special,
+			boolean[] invalid);
+}
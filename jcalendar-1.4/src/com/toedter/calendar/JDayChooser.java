@@ -37,9 +37,10 @@ import java.text.DateFormatSymbols;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -105,6 +106,15 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 	
 	protected MinMaxDateEvaluator minMaxDateEvaluator;
 
+	/** Number of months whose evaluator results are kept. */
+	protected static final int MAX_CACHED_MONTHS = 24;
+
+	/**
+	 * Evaluator results per month (key: year * 12 + month), so switching
+	 * months does not call every evaluator for every day again.
+	 */
+	protected Map monthEvaluations;
+
 	/**
 	 * Default JDayChooser constructor.
 	 */
@@ -123,6 +133,11 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 		setBackground(Color.blue);
 
 		dateEvaluators = new ArrayList(1);
+		monthEvaluations = new LinkedHashMap(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry eldest) {
+				return size() > MAX_CACHED_MONTHS;
+			}
+		};
 		minMaxDateEvaluator = new MinMaxDateEvaluator();
 		addDateEvaluator(minMaxDateEvaluator);
 
@@ -337,6 +352,7 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 		Date day = tmpCalendar.getTime();
 		int n = 0;
 		Color foregroundColor = getForeground();
+		MonthEvaluation evaluation = getMonthEvaluation(tmpCalendar);
 
 		while (day.before(firstDayInNextMonth)) {
 			days[i + n + 7].setText(Integer.toString(n + 1));
@@ -358,11 +374,10 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 				days[i + n + 7].setBackground(oldDayBackgroundColor);
 			}
 
-			Iterator iterator = dateEvaluators.iterator(); 
 			days[i + n + 7].setEnabled(true);
-			while (iterator.hasNext()) {
-				IDateEvaluator dateEvaluator = (IDateEvaluator) iterator.next();
-				if (dateEvaluator.isSpecial(day)) {
+			for (int e = 0; e < evaluation.evaluators.length; e++) {
+				IDateEvaluator dateEvaluator = evaluation.evaluators[e];
+				if (evaluation.special[e][n]) {
 					days[i + n + 7].setForeground(dateEvaluator
 							.getSpecialForegroundColor());
 					days[i + n + 7].setBackground(dateEvaluator
@@ -370,7 +385,7 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 					days[i + n + 7].setToolTipText(dateEvaluator.getSpecialTooltip());
 					days[i + n + 7].setEnabled(true);
 				} 
-				if (dateEvaluator.isInvalid(day)){
+				if (evaluation.invalid[e][n]){
 					days[i + n + 7].setForeground(dateEvaluator
 							.getInvalidForegroundColor());
 					days[i + n + 7].setBackground(dateEvaluator
@@ -393,6 +408,75 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 		drawWeeks();
 	}
 
+	/**
+	 * Evaluator results of one month, per evaluator and day.
+	 */
+	protected static class MonthEvaluation {
+		IDateEvaluator[] evaluators;
+
+		boolean[][] special;
+
+		boolean[][] invalid;
+	}
+
+	/**
+	 * Gets the evaluator results of a month, evaluating it if it is not
+	 * cached. Evaluators implementing IDateRangeEvaluator are called once for
+	 * the whole month, all others once per day.
+	 * 
+	 * @param firstDayOfMonth
+	 *            a calendar set to the first day of the month at 00:00
+	 *            (it is restored before returning)
+	 * @return the month evaluation
+	 */
+	protected MonthEvaluation getMonthEvaluation(Calendar firstDayOfMonth) {
+		Integer key = Integer.valueOf(firstDayOfMonth.get(Calendar.YEAR) * 12
+				+ firstDayOfMonth.get(Calendar.MONTH));
+		MonthEvaluation evaluation = (MonthEvaluation) monthEvaluations
+				.get(key);
+		if (evaluation != null
+				&& evaluation.evaluators.length == dateEvaluators.size()) {
+			return evaluation;
+		}
+
+		int dayCount = firstDayOfMonth.getActualMaximum(Calendar.DAY_OF_MONTH);
+		Date firstDay = firstDayOfMonth.getTime();
+
+		evaluation = new MonthEvaluation();
+		evaluation.evaluators = (IDateEvaluator[]) dateEvaluators
+				.toArray(new IDateEvaluator[dateEvaluators.size()]);
+		evaluation.special = new boolean[evaluation.evaluators.length][dayCount];
+		evaluation.invalid = new boolean[evaluation.evaluators.length][dayCount];
+
+		for (int e = 0; e < evaluation.evaluators.length; e++) {
+			IDateEvaluator dateEvaluator = evaluation.evaluators[e];
+			if (dateEvaluator instanceof IDateRangeEvaluator) {
+				((IDateRangeEvaluator) dateEvaluator).evaluateMonth(firstDay,
+						dayCount, evaluation.special[e], evaluation.invalid[e]);
+				continue;
+			}
+			for (int d = 0; d < dayCount; d++) {
+				Date day = firstDayOfMonth.getTime();
+				evaluation.special[e][d] = dateEvaluator.isSpecial(day);
+				evaluation.invalid[e][d] = dateEvaluator.isInvalid(day);
+				firstDayOfMonth.add(Calendar.DATE, 1);
+			}
+			firstDayOfMonth.setTime(firstDay);
+		}
+
+		monthEvaluations.put(key, evaluation);
+		return evaluation;
+	}
+
+	/**
+	 * Discards the cached evaluator results and redraws the days. Call this
+	 * when the data behind a date evaluator changes.
+	 */
+	public void invalidateDateEvaluations() {
+		monthEvaluations.clear();
+		drawDays();
+	}
+
 	/**
 	 * Returns the locale.
 	 * 
@@ -897,6 +981,7 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 	public void setSelectableDateRange(Date min, Date max) {
 		minMaxDateEvaluator.setMaxSelectableDate(max);
 		minMaxDateEvaluator.setMinSelectableDate(min);
+		monthEvaluations.clear();
 		drawDays();
 	}
 
@@ -911,6 +996,7 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 	 */
 	public Date setMaxSelectableDate(Date max) {
 		Date maxSelectableDate = minMaxDateEvaluator.setMaxSelectableDate(max);
+		monthEvaluations.clear();
 		drawDays();
 		return maxSelectableDate;
 	}
@@ -926,6 +1012,7 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 	 */
 	public Date setMinSelectableDate(Date min) {
 		Date minSelectableDate = minMaxDateEvaluator.setMinSelectableDate(min);
+		monthEvaluations.clear();
 		drawDays();
 		return minSelectableDate;
 	}
@@ -1033,9 +1120,11 @@ public class JDayChooser extends JPanel implements ActionListener, KeyListener,
 
 	public void addDateEvaluator(IDateEvaluator dateEvaluator) {
 		dateEvaluators.add(dateEvaluator);
+		monthEvaluations.clear();
 	}
 
 	public void removeDateEvaluator(IDateEvaluator dateEvaluator) {
 		dateEvaluators.remove(dateEvaluator);
+		monthEvaluations.clear();
 	}
 }
@@ -28,6 +28,7 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.text.DateFormat;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -88,6 +89,12 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 
 	private Calendar calendar;
 
+	private final ParsePosition parsePosition = new ParsePosition(0);
+
+	private String lastParsedText;
+
+	private Date lastParsedDate;
+
 	public JTextFieldDateEditor() {
 		this(false, null, null, ' ');
 	}
@@ -133,15 +140,16 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 	 * @see com.toedter.calendar.IDateEditor#getDate()
 	 */
 	public Date getDate() {
-		try {
-			calendar.setTime(dateFormatter.parse(getText()));
+		Date parsedDate = parseDate(getText());
+		if (parsedDate == null) {
+			date = null;
+		} else {
+			calendar.setTime(parsedDate);
 			calendar.set(Calendar.HOUR_OF_DAY, hours);
 			calendar.set(Calendar.MINUTE, minutes);
 			calendar.set(Calendar.SECOND, seconds);
 			calendar.set(Calendar.MILLISECOND, millis);
 			date = calendar.getTime();
-		} catch (ParseException e) {
-			date = null;
 		}
 		return date;
 	}
@@ -210,6 +218,7 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 			dateFormatter.setLenient(false);
 		}
 		this.datePattern = dateFormatter.toPattern();
+		resetParsedDate();
 		setToolTipText(this.datePattern);
 		setDate(date, false);
 	}
@@ -248,14 +257,10 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 			return;
 		}
 
-		try {
-			Date date = dateFormatter.parse(getText());
-			if (dateUtil.checkDate(date)) {
-				setForeground(darkGreen);
-			} else {
-				setForeground(Color.RED);
-			}
-		} catch (Exception e) {
+		Date date = parseDate(getText());
+		if (date != null && dateUtil.checkDate(date)) {
+			setForeground(darkGreen);
+		} else {
 			setForeground(Color.RED);
 		}
 	}
@@ -270,14 +275,86 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 	}
 
 	private void checkText() {
-		try {
-			Date date = dateFormatter.parse(getText());
+		Date date = parseDate(getText());
+		if (date != null) {
 			setDate(date, true);
-		} catch (Exception e) {
-			// ignore
 		}
 	}
 
+	/**
+	 * Parses a date without throwing. The result for the last text is reused,
+	 * so caret moves do not parse again, and text that does not fit the mask
+	 * is rejected before parsing. The formatter is not lenient, so it also
+	 * rejects out of range days and a day of week that does not match.
+	 * 
+	 * @param text
+	 *            the text to parse
+	 * @return the date, or null if the text is not a valid date
+	 */
+	protected Date parseDate(String text) {
+		if (text.equals(lastParsedText)) {
+			return lastParsedDate;
+		}
+
+		Date parsedDate = null;
+		if (matchesMask(text)) {
+			parsePosition.setIndex(0);
+			parsePosition.setErrorIndex(-1);
+			Date date = dateFormatter.parse(text, parsePosition);
+			if (date != null && isFullyParsed(text)) {
+				parsedDate = date;
+			}
+		}
+
+		lastParsedText = text;
+		lastParsedDate = parsedDate;
+		return parsedDate;
+	}
+
+	/**
+	 * Checks that the text fits the mask: a digit at every '#' and the mask
+	 * literals everywhere else. Always true if no mask is shown.
+	 */
+	private boolean matchesMask(String text) {
+		if (!isMaskVisible || maskPattern == null) {
+			return true;
+		}
+		if (text.length() != maskPattern.length()) {
+			return false;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			char maskChar = maskPattern.charAt(i);
+			char ch = text.charAt(i);
+			if (maskChar == '#' ? !Character.isDigit(ch) : ch != maskChar) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that the last parse consumed the text up to trailing whitespace.
+	 */
+	private boolean isFullyParsed(String text) {
+		if (parsePosition.getErrorIndex() >= 0) {
+			return false;
+		}
+		for (int i = parsePosition.getIndex(); i < text.length(); i++) {
+			if (!Character.isWhitespace(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Forgets the last parse result, e.g. after the pattern or locale changed.
+	 */
+	private void resetParsedDate() {
+		lastParsedText = null;
+		lastParsedDate = null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -298,6 +375,7 @@ public class JTextFieldDateEditor extends JFormattedTextField implements IDateEd
 
 		super.setLocale(locale);
 		dateFormatter = (SimpleDateFormat) DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
+		resetParsedDate();
 		setToolTipText(dateFormatter.toPattern());
 
 		setDate(date, false);
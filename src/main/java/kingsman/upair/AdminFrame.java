@@ -4,23 +4,34 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import javax.swing.Timer;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
 import java.util.List;
 import java.util.ArrayList;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Date;
 import java.util.Calendar;
+import java.util.function.Supplier;
 import kingsman.upair.model.Flight;
 import kingsman.upair.model.FlightOffer;
 import kingsman.upair.model.Schedule;
 import kingsman.upair.model.Booking;
+import kingsman.upair.model.BookingView;
 import kingsman.upair.model.Passenger;
+import kingsman.upair.service.AsyncService;
+import kingsman.upair.service.BookingSearchService;
+import kingsman.upair.service.FareBucketService;
 import kingsman.upair.service.FlightService;
 import kingsman.upair.service.ScheduleService;
+import kingsman.upair.service.SessionManager;
+import kingsman.upair.service.TickService;
+import kingsman.upair.repository.BookingAnalyticsRepository;
+import kingsman.upair.repository.FlightRepository;
 import kingsman.upair.repository.ScheduleRepository;
 import kingsman.upair.repository.BookingRepository;
+import kingsman.upair.repository.BookingViewRepository;
 import kingsman.upair.repository.PassengerRepository;
+import kingsman.upair.utils.ImageCache;
+import kingsman.upair.utils.Money;
         
 /*
  * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
@@ -41,6 +52,37 @@ public class AdminFrame extends javax.swing.JFrame {
     private boolean isScheduleEditMode = false;
     private String editingScheduleId = "";
     private javax.swing.JComboBox<String> flightCodeScheduleCombo; // Dropdown for flight codes
+    
+    // Tab indexes in tabPanel
+    private static final int MANAGE_FLIGHTS_TAB = 1;
+    private static final int MANAGE_SCHEDULES_TAB = 2;
+    private static final int MANAGE_BOOKINGS_TAB = 3;
+    
+    // Manage Bookings search-as-you-type
+    private static final String BOOKING_SEARCH_PLACEHOLDER = "Enter Booking ID";
+    private static final int BOOKING_SEARCH_DELAY_MS = 200; // Debounce between keystrokes
+    private static final int BOOKING_SEARCH_LIMIT = 500;
+    private Timer bookingSearchTimer;
+    private String lastBookingQuery = "";
+    
+    // Header clock formats
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm:ss a");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM dd yyyy");
+    
+    // Dashboard totals refresh period (read from BookingAnalyticsRepository)
+    private static final int DASHBOARD_REFRESH_SECONDS = 5;
+    
+    // Session issued at login (see SessionManager)
+    private String sessionToken;
+    
+    // Runs each tab's setup on first display
+    private LazyTabLoader lazyTabs;
+    
+    // Repository-backed table models (created when their tab is first shown)
+    private RepositoryTableModel<Flight> flightTableModel;
+    private RepositoryTableModel<Schedule> scheduledFlightsModel;
+    private RepositoryTableModel<BookingView> manageBookingsModel;
+    private RepositoryTableModel<BookingView> approvedBookingsModel;
 
     /**
      * Creates new form AdminFrame
@@ -48,8 +90,186 @@ public class AdminFrame extends javax.swing.JFrame {
     public AdminFrame() {
         initComponents();
         setLocationRelativeTo(null);
+        setIconImages(ImageCache.getWindowIcons());
         startDateTime();
+        startDashboardStats();
+        logOutButton.addActionListener(e -> logOut());
         initializeFlightComponents();
+        initializeLazyTabs();
+    }
+    
+    /**
+     * Creates new form AdminFrame for a logged-in session
+     * @param sessionToken The session issued at login, ended on log out or when the frame closes
+     */
+    public AdminFrame(String sessionToken) {
+        this();
+        this.sessionToken = sessionToken;
+        if (sessionToken != null) {
+            SessionManager.attach(this, sessionToken, this::sessionExpired);
+        }
+    }
+    
+    /**
+     * Defers each management tab's table models, repository subscriptions
+     * and data loads until the tab is first shown
+     */
+    private void initializeLazyTabs() {
+        lazyTabs = new LazyTabLoader(tabPanel);
+        lazyTabs.register(MANAGE_FLIGHTS_TAB, this::initializeFlightTableModel);
+        lazyTabs.register(MANAGE_SCHEDULES_TAB, this::initializeScheduleTableModel);
+        lazyTabs.register(MANAGE_BOOKINGS_TAB, this::initializeBookingTableModels);
+        
+        // Unsubscribe models from the repositories once the frame is disposed
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                FlightRepository.removeListener(flightTableModel);
+                ScheduleRepository.removeListener(scheduledFlightsModel);
+                BookingViewRepository.removeListener(manageBookingsModel);
+                BookingViewRepository.removeListener(approvedBookingsModel);
+            }
+        });
+    }
+    
+    /**
+     * Replaces the generated flight table model with a repository-backed model
+     */
+    private void initializeFlightTableModel() {
+        flightTableModel = new RepositoryTableModel<>(
+            RepositoryTableModel.columnNamesOf(flightTable.getModel()), Flight::getFlightCode,
+            (flight, column) -> {
+                switch (column) {
+                    case 0: return flight.getAircraftModel();
+                    case 1: return flight.getFlightCode();
+                    case 2: return flight.getSeatCapacity();
+                    default: return String.format("PHP %.2f", flight.getBaseFare());
+                }
+            });
+        flightTableModel.setFilter(flight -> flight.getAirline().equals(selectedAirlineName));
+        flightTable.setModel(flightTableModel);
+        FlightRepository.addListener(flightTableModel);
+    }
+    
+    /**
+     * Replaces the generated schedule table model with a repository-backed model
+     */
+    private void initializeScheduleTableModel() {
+        scheduledFlightsModel = new RepositoryTableModel<>(
+            RepositoryTableModel.columnNamesOf(scheduledFlightsTable.getModel()), Schedule::getScheduleId,
+            (schedule, column) -> {
+                switch (column) {
+                    case 0: return schedule.getAirline();
+                    case 1: return schedule.getFlightCode();
+                    case 2: return schedule.getOrigin();
+                    case 3: return schedule.getDestination();
+                    case 4: return schedule.getDepartureDate().toString();
+                    default: return schedule.getDepartureTime().toString();
+                }
+            });
+        scheduledFlightsTable.setModel(scheduledFlightsModel);
+        ScheduleRepository.addListener(scheduledFlightsModel);
+    }
+    
+    /**
+     * Replaces the generated booking table models with models backed by the booking views
+     */
+    private void initializeBookingTableModels() {
+        manageBookingsModel = new RepositoryTableModel<>(
+            RepositoryTableModel.columnNamesOf(manageBookingsTable.getModel()), BookingView::getBookingId,
+            (view, column) -> column == 5 ? view.getManageStatusLabel() : getBookingColumnValue(view, column));
+        manageBookingsModel.setFilter(BookingView::isPendingAction);
+        manageBookingsTable.setModel(manageBookingsModel);
+        
+        approvedBookingsModel = new RepositoryTableModel<>(
+            RepositoryTableModel.columnNamesOf(approvedBookingsTable.getModel()), BookingView::getBookingId,
+            (view, column) -> column == 5 ? view.getPaymentLabel() : getBookingColumnValue(view, column));
+        approvedBookingsModel.setFilter(BookingView::isProcessed);
+        approvedBookingsTable.setModel(approvedBookingsModel);
+        BookingViewRepository.addListener(manageBookingsModel);
+        BookingViewRepository.addListener(approvedBookingsModel);
+        initializeBookingSearch();
+    }
+    
+    /**
+     * Searches Manage Bookings as the admin types, once typing pauses
+     */
+    private void initializeBookingSearch() {
+        bookingSearchTimer = new Timer(BOOKING_SEARCH_DELAY_MS, e -> {
+            if (!getBookingSearchQuery().equals(lastBookingQuery)) {
+                populateManageBookingsTable();
+            }
+        });
+        bookingSearchTimer.setRepeats(false);
+        
+        inputBookingID.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                bookingSearchTimer.restart();
+            }
+            
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                bookingSearchTimer.restart();
+            }
+            
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                bookingSearchTimer.restart();
+            }
+        });
+        inputBookingID.addFocusListener(new java.awt.event.FocusAdapter() {
+            @Override
+            public void focusGained(java.awt.event.FocusEvent e) {
+                if (inputBookingID.getText().equals(BOOKING_SEARCH_PLACEHOLDER)) {
+                    inputBookingID.setText("");
+                }
+            }
+            
+            @Override
+            public void focusLost(java.awt.event.FocusEvent e) {
+                if (inputBookingID.getText().trim().isEmpty()) {
+                    inputBookingID.setText(BOOKING_SEARCH_PLACEHOLDER);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Gets the Manage Bookings search text, or an empty string for none
+     */
+    private String getBookingSearchQuery() {
+        String text = inputBookingID.getText();
+        return text == null || text.equals(BOOKING_SEARCH_PLACEHOLDER) ? "" : text.trim();
+    }
+    
+    /**
+     * Shows the bookings matching a search query in Manage Bookings
+     * Runs in the background; a newer keystroke or refresh supersedes it
+     * @param query The query (booking ID prefix, passenger name or flight code)
+     * @param reportNoResults true to tell the admin when nothing matched
+     */
+    private void searchBookings(String query, boolean reportNoResults) {
+        lastBookingQuery = query;
+        if (manageBookingsModel.isEmpty()) {
+            manageBookingsModel.setLoading(true);
+        }
+        AsyncService.supply(this, "manageBookings",
+            () -> BookingSearchService.search(query, BookingView::isPendingAction, BOOKING_SEARCH_LIMIT))
+            .thenAccept(results -> {
+                // Keep live updates for the matched bookings until the query changes
+                java.util.Set<String> matchedIds = new java.util.HashSet<>();
+                for (BookingView view : results) {
+                    matchedIds.add(view.getBookingId());
+                }
+                manageBookingsModel.setFilter(v -> v.isPendingAction() && matchedIds.contains(v.getBookingId()));
+                manageBookingsModel.replaceRows(results);
+                if (reportNoResults && results.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "No booking found for: " + query,
+                        "No Results", JOptionPane.INFORMATION_MESSAGE);
+                }
+            })
+            .exceptionally(this::handleAsyncError);
     }
     
     /**
@@ -156,21 +376,34 @@ public class AdminFrame extends javax.swing.JFrame {
      * Populates scheduled flights table
      */
     private void populateScheduledFlightsTable() {
-        DefaultTableModel model = (DefaultTableModel) scheduledFlightsTable.getModel();
-        model.setRowCount(0); // Clear existing rows
-        
-        List<Schedule> schedules = ScheduleService.getAllSchedules();
-        for (Schedule schedule : schedules) {
-            model.addRow(new Object[]{
-                schedule.getScheduleId(),
-                schedule.getAirline(),
-                schedule.getFlightCode(),
-                schedule.getOrigin(),
-                schedule.getDestination(),
-                schedule.getDepartureDate().toString(),
-                schedule.getDepartureTime().toString()
-            });
+        lazyTabs.ensureInitialized(MANAGE_SCHEDULES_TAB);
+        loadTableAsync("scheduledFlights", scheduledFlightsModel, ScheduleService::getAllSchedules);
+    }
+    
+    /**
+     * Loads row objects in the background and reconciles the table model on the EDT
+     * A newer load with the same key supersedes a pending one
+     */
+    private <T> void loadTableAsync(String key, RepositoryTableModel<T> model, Supplier<List<T>> rowSupplier) {
+        if (model.isEmpty()) {
+            model.setLoading(true); // Placeholder until the first rows arrive
         }
+        AsyncService.supply(this, key, rowSupplier)
+            .thenAccept(model::replaceRows)
+            .exceptionally(this::handleAsyncError);
+    }
+    
+    /**
+     * Reports a failed background request, ignoring superseded ones
+     */
+    private Void handleAsyncError(Throwable error) {
+        if (!AsyncService.isCancelled(error)) {
+            Throwable cause = AsyncService.unwrap(error);
+            System.err.println("Background request failed: " + cause.getMessage());
+            JOptionPane.showMessageDialog(this, "Something went wrong: " + cause.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        return null;
     }
     
     /**
@@ -189,114 +422,40 @@ public class AdminFrame extends javax.swing.JFrame {
     }
 
     /**
-     * Determines if a booking should be shown in Manage Bookings table
-     * Cash payments OR online bookings with cancel request
+     * Gets a cell value shared by the booking tables (every column except Status/Payment)
      */
-    private boolean shouldIncludeInManageBookings(Booking booking) {
-        String paymentType = booking.getPaymentType() != null ? booking.getPaymentType() : "";
-        String status = booking.getStatus() != null ? booking.getStatus() : "";
-        
-        // Cash payments (to be paid at counter)
-        if (paymentType.equalsIgnoreCase("Cash")) {
-            // Exclude already cancelled bookings
-            return !status.equalsIgnoreCase("Cancelled");
-        }
-        
-        // Online bookings with cancel request
-        if (status.equalsIgnoreCase("Cancel Book")) {
-            return true;
+    private static Object getBookingColumnValue(BookingView view, int column) {
+        switch (column) {
+            case 0: return view.getBookingId();
+            case 1: return view.getPassengerName();
+            case 2: return view.getRouteLabel();
+            case 3: return view.getTripType();
+            case 4: return view.getDepartureDateLabel();
+            default: return view.getPassengerCount();
         }
-        
-        return false;
     }
 
     /**
      * Populates Manage Bookings table with pending cash payments and cancel requests
      */
     private void populateManageBookingsTable() {
-        DefaultTableModel model = (DefaultTableModel) manageBookingsTable.getModel();
-        model.setRowCount(0);
-        
-        List<Booking> bookings = BookingRepository.getAllBookings();
-        for (Booking booking : bookings) {
-            if (!shouldIncludeInManageBookings(booking)) {
-                continue;
-            }
-            
-            Passenger passenger = PassengerRepository.getPassengerByUsername(booking.getPassengerUsername());
-            String name;
-            if (passenger != null) {
-                name = passenger.getFirstName() + " " + passenger.getLastName();
-            } else {
-                name = booking.getPassengerUsername();
-            }
-            
-            String routeText = booking.getOrigin() + " \u2192 " + booking.getDestination();
-            String tripType = booking.getTripType();
-            String flightDateText = booking.getDepartureDate() != null ? booking.getDepartureDate().toString() : "";
-            int totalPassengers = booking.getNumberOfAdults() + booking.getNumberOfMinors();
-            
-            String displayStatus;
-            if (booking.getPaymentType() != null && booking.getPaymentType().equalsIgnoreCase("Cash")) {
-                displayStatus = "Pay at the counter";
-            } else if (booking.getStatus() != null && booking.getStatus().equalsIgnoreCase("Cancel Book")) {
-                displayStatus = "Cancel book";
-            } else {
-                displayStatus = booking.getStatus() != null ? booking.getStatus() : "";
-            }
-            
-            model.addRow(new Object[]{
-                booking.getBookingId(),
-                name,
-                routeText,
-                tripType,
-                flightDateText,
-                displayStatus,
-                totalPassengers
-            });
+        lazyTabs.ensureInitialized(MANAGE_BOOKINGS_TAB);
+        String query = getBookingSearchQuery();
+        if (!query.isEmpty()) {
+            searchBookings(query, false);
+            return;
         }
+        lastBookingQuery = "";
+        manageBookingsModel.setFilter(BookingView::isPendingAction);
+        loadTableAsync("manageBookings", manageBookingsModel, BookingViewRepository::getAllViews);
     }
 
     /**
      * Populates Approved Bookings History table
      */
     private void populateApprovedBookingsTable() {
-        DefaultTableModel model = (DefaultTableModel) approvedBookingsTable.getModel();
-        model.setRowCount(0);
-        
-        List<Booking> bookings = BookingRepository.getAllBookings();
-        for (Booking booking : bookings) {
-            String status = booking.getStatus() != null ? booking.getStatus() : "";
-            
-            // Approved bookings: Confirmed or Cancelled
-            if (!status.equalsIgnoreCase("Confirmed") && !status.equalsIgnoreCase("Cancelled")) {
-                continue;
-            }
-            
-            Passenger passenger = PassengerRepository.getPassengerByUsername(booking.getPassengerUsername());
-            String name;
-            if (passenger != null) {
-                name = passenger.getFirstName() + " " + passenger.getLastName();
-            } else {
-                name = booking.getPassengerUsername();
-            }
-            
-            String routeText = booking.getOrigin() + " \u2192 " + booking.getDestination();
-            String tripType = booking.getTripType();
-            String flightDateText = booking.getDepartureDate() != null ? booking.getDepartureDate().toString() : "";
-            int totalPassengers = booking.getNumberOfAdults() + booking.getNumberOfMinors();
-            String payment = booking.getPaymentType() != null ? booking.getPaymentType() : "";
-            
-            model.addRow(new Object[]{
-                booking.getBookingId(),
-                name,
-                routeText,
-                tripType,
-                flightDateText,
-                payment,
-                totalPassengers
-            });
-        }
+        lazyTabs.ensureInitialized(MANAGE_BOOKINGS_TAB);
+        loadTableAsync("approvedBookings", approvedBookingsModel, BookingViewRepository::getAllViews);
     }
     
     /**
@@ -471,18 +630,9 @@ public class AdminFrame extends javax.swing.JFrame {
      * Populates flight table with flights for selected airline
      */
     private void populateFlightTable() {
-        DefaultTableModel model = (DefaultTableModel) flightTable.getModel();
-        model.setRowCount(0); // Clear existing rows
-        
-        List<Flight> flights = FlightService.getFlightsByAirline(selectedAirlineName);
-        for (Flight flight : flights) {
-            model.addRow(new Object[]{
-                flight.getAircraftModel(),
-                flight.getFlightCode(),
-                flight.getSeatCapacity(),
-                String.format("PHP %.2f", flight.getBaseFare())
-            });
-        }
+        lazyTabs.ensureInitialized(MANAGE_FLIGHTS_TAB);
+        String airlineName = selectedAirlineName;
+        loadTableAsync("flights", flightTableModel, () -> FlightService.getFlightsByAirline(airlineName));
     }
     
     /**
@@ -2288,13 +2438,13 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void deleteButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_deleteButtonActionPerformed
         int selectedRow = flightTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || flightTableModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a flight to delete!", 
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        String flightCodeToDelete = (String) flightTable.getValueAt(selectedRow, 1);
+        String flightCodeToDelete = flightTableModel.getRow(selectedRow).getFlightCode();
         
         int confirm = JOptionPane.showConfirmDialog(this, 
             "Are you sure you want to delete flight " + flightCodeToDelete + "?", 
@@ -2305,7 +2455,6 @@ public class AdminFrame extends javax.swing.JFrame {
             if (result.isSuccess()) {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
-                populateFlightTable();
                 clearFlightForm();
             } else {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
@@ -2316,13 +2465,13 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void editButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_editButtonActionPerformed
         int selectedRow = flightTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || flightTableModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a flight to edit!", 
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        String flightCodeToEdit = (String) flightTable.getValueAt(selectedRow, 1);
+        String flightCodeToEdit = flightTableModel.getRow(selectedRow).getFlightCode();
         Flight flight = FlightService.getFlightByCode(flightCodeToEdit);
         
         if (flight != null) {
@@ -2373,7 +2522,6 @@ public class AdminFrame extends javax.swing.JFrame {
             if (result.isSuccess()) {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
-                populateFlightTable();
                 clearFlightForm();
             } else {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
@@ -2430,13 +2578,13 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void editSelectedButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_editSelectedButtonActionPerformed
         int selectedRow = scheduledFlightsTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || scheduledFlightsModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a schedule to edit!", 
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        String scheduleId = (String) scheduledFlightsTable.getValueAt(selectedRow, 0);
+        String scheduleId = scheduledFlightsModel.getRow(selectedRow).getScheduleId();
         Schedule schedule = ScheduleService.getScheduleById(scheduleId);
         
         if (schedule != null) {
@@ -2511,7 +2659,6 @@ public class AdminFrame extends javax.swing.JFrame {
             if (result.isSuccess()) {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
-                populateScheduledFlightsTable();
                 clearScheduleForm();
             } else {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
@@ -2525,13 +2672,13 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void deleteSelectedButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_deleteSelectedButtonActionPerformed
         int selectedRow = scheduledFlightsTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || scheduledFlightsModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a schedule to delete!", 
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        String scheduleId = (String) scheduledFlightsTable.getValueAt(selectedRow, 0);
+        String scheduleId = scheduledFlightsModel.getRow(selectedRow).getScheduleId();
         
         int confirm = JOptionPane.showConfirmDialog(this, 
             "Are you sure you want to delete schedule " + scheduleId + "?", 
@@ -2542,7 +2689,6 @@ public class AdminFrame extends javax.swing.JFrame {
             if (result.isSuccess()) {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
-                populateScheduledFlightsTable();
                 clearScheduleForm();
             } else {
                 JOptionPane.showMessageDialog(this, result.getMessage(), 
@@ -2553,14 +2699,14 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void viewSelectedButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_viewSelectedButtonActionPerformed
         int selectedRow = manageBookingsTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || manageBookingsModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a booking first!",
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        DefaultTableModel model = (DefaultTableModel) manageBookingsTable.getModel();
-        String bookingId = (String) model.getValueAt(selectedRow, 0);
+        BookingView selectedView = manageBookingsModel.getRow(selectedRow);
+        String bookingId = selectedView != null ? selectedView.getBookingId() : null;
         if (bookingId == null || bookingId.trim().isEmpty()) {
             JOptionPane.showMessageDialog(this, "Invalid booking selected!",
                 "Error", JOptionPane.ERROR_MESSAGE);
@@ -2634,15 +2780,14 @@ public class AdminFrame extends javax.swing.JFrame {
 
     private void approveSelectedButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_approveSelectedButtonActionPerformed
         int selectedRow = manageBookingsTable.getSelectedRow();
-        if (selectedRow < 0) {
+        if (selectedRow < 0 || manageBookingsModel.getRow(selectedRow) == null) {
             JOptionPane.showMessageDialog(this, "Please select a booking first!",
                 "Selection Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        DefaultTableModel model = (DefaultTableModel) manageBookingsTable.getModel();
-        String bookingId = (String) model.getValueAt(selectedRow, 0);
-        String statusLabel = (String) model.getValueAt(selectedRow, 5);
+        BookingView selectedView = manageBookingsModel.getRow(selectedRow);
+        String bookingId = selectedView.getBookingId();
         
         Booking booking = BookingRepository.getBookingById(bookingId);
         if (booking == null) {
@@ -2651,27 +2796,37 @@ public class AdminFrame extends javax.swing.JFrame {
             return;
         }
         
+        // Work on a copy: the cached booking changes only once the new status is saved
+        String previousStatus = booking.getStatus();
+        Booking approved = new Booking(booking);
+        String statusLabel = selectedView.getManageStatusLabel();
         if ("Pay at the counter".equalsIgnoreCase(statusLabel)) {
             // Approving cash payment - confirm booking
-            booking.setStatus("Confirmed");
+            approved.setStatus("Confirmed");
         } else if ("Cancel book".equalsIgnoreCase(statusLabel)) {
             // Approving cancellation request
-            booking.setStatus("Cancelled");
+            approved.setStatus("Cancelled");
         } else {
             JOptionPane.showMessageDialog(this, "This booking is already processed.",
                 "Info", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
         
-        boolean updated = BookingRepository.updateBooking(booking);
-        if (updated) {
-            JOptionPane.showMessageDialog(this, "Booking updated successfully!",
-                "Success", JOptionPane.INFORMATION_MESSAGE);
-            populateManageBookingsTable();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to update booking!",
-                "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        approveSelectedButton.setEnabled(false); // Prevent a second approval while saving
+        AsyncService.supply(this, null, () -> "Cancelled".equals(approved.getStatus())
+                // Saves and returns the seats to fare bucket inventory, once
+                ? FareBucketService.cancelBooking(approved, previousStatus)
+                : BookingRepository.updateBookingIfStatus(approved, previousStatus))
+            .whenComplete((updated, error) -> approveSelectedButton.setEnabled(true))
+            .thenAccept(updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this, "Booking updated successfully!",
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to update booking! It may already be processed.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }).exceptionally(this::handleAsyncError);
     }//GEN-LAST:event_approveSelectedButtonActionPerformed
 
     private void backToBookingsButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_backToBookingsButtonActionPerformed
@@ -2704,74 +2859,65 @@ public class AdminFrame extends javax.swing.JFrame {
     }//GEN-LAST:event_userProfileButtonActionPerformed
 
     private void searchBookingIDActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_searchBookingIDActionPerformed
-        String bookingId = inputBookingID.getText();
-        if (bookingId == null || bookingId.trim().isEmpty() ||
-            bookingId.equalsIgnoreCase("Enter Booking ID")) {
-            JOptionPane.showMessageDialog(this, "Please enter a Booking ID!",
+        String query = getBookingSearchQuery();
+        if (query.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a Booking ID, passenger name or flight code!",
                 "Validation Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        bookingId = bookingId.trim();
-        DefaultTableModel model = (DefaultTableModel) manageBookingsTable.getModel();
-        model.setRowCount(0);
-        
-        Booking booking = BookingRepository.getBookingById(bookingId);
-        if (booking != null && shouldIncludeInManageBookings(booking)) {
-            Passenger passenger = PassengerRepository.getPassengerByUsername(booking.getPassengerUsername());
-            String name;
-            if (passenger != null) {
-                name = passenger.getFirstName() + " " + passenger.getLastName();
-            } else {
-                name = booking.getPassengerUsername();
-            }
-            
-            String routeText = booking.getOrigin() + " \u2192 " + booking.getDestination();
-            String tripType = booking.getTripType();
-            String flightDateText = booking.getDepartureDate() != null ? booking.getDepartureDate().toString() : "";
-            int totalPassengers = booking.getNumberOfAdults() + booking.getNumberOfMinors();
-            
-            String displayStatus;
-            if (booking.getPaymentType() != null && booking.getPaymentType().equalsIgnoreCase("Cash")) {
-                displayStatus = "Pay at the counter";
-            } else if (booking.getStatus() != null && booking.getStatus().equalsIgnoreCase("Cancel Book")) {
-                displayStatus = "Cancel book";
-            } else {
-                displayStatus = booking.getStatus() != null ? booking.getStatus() : "";
-            }
-            
-            model.addRow(new Object[]{
-                booking.getBookingId(),
-                name,
-                routeText,
-                tripType,
-                flightDateText,
-                displayStatus,
-                totalPassengers
-            });
-        } else {
-            JOptionPane.showMessageDialog(this, "No booking found for ID: " + bookingId,
-                "No Results", JOptionPane.INFORMATION_MESSAGE);
-        }
+        // Search now instead of waiting for the typing pause
+        lazyTabs.ensureInitialized(MANAGE_BOOKINGS_TAB);
+        bookingSearchTimer.stop();
+        searchBookings(query, true);
     }//GEN-LAST:event_searchBookingIDActionPerformed
     
     
+    /**
+     * Shows the clock, updated on the shared one-second tick while this frame is open
+     */
     private void startDateTime() {
+        updateDateTime();
+        TickService.subscribe(this, 1, this::updateDateTime);
+    }
 
-        DateTimeFormatter timeFormat =
-                DateTimeFormatter.ofPattern("hh:mm:ss a");
-
-        DateTimeFormatter dateFormat =
-                DateTimeFormatter.ofPattern("MMMM dd yyyy");
-
-        Timer timer = new Timer(1000, e -> {
-            LocalDateTime now = LocalDateTime.now();
+    private void updateDateTime() {
+        LocalDateTime now = LocalDateTime.now();
 
-            timeLabel.setText(now.format(timeFormat));
-            dateLabel.setText(now.format(dateFormat).toUpperCase());
-        });
+        timeLabel.setText(now.format(TIME_FORMAT));
+        dateLabel.setText(now.format(DATE_FORMAT).toUpperCase());
+    }
+    
+    private void startDashboardStats() {
+        updateDashboardStats();
+        TickService.subscribe(this, DASHBOARD_REFRESH_SECONDS, this::updateDashboardStats);
+    }
+    
+    /**
+     * Shows the revenue and today's passengers from the maintained aggregates (no booking scan)
+     */
+    private void updateDashboardStats() {
+        totalRevenue.setText(Money.format(BookingAnalyticsRepository.getTotalRevenue()));
+        passengersToday.setText(String.valueOf(BookingAnalyticsRepository.getPassengerCount(LocalDate.now())));
+    }
+    
+    /**
+     * Closes this frame and returns to the login screen
+     * Disposing the frame releases its tick subscription and repository listeners
+     */
+    private void logOut() {
+        SessionManager.invalidate(sessionToken);
+        dispose();
+        new LogInFrame().setVisible(true);
+    }
 
-        timer.start();
+    /**
+     * Logs out after the session expired from inactivity or age
+     */
+    private void sessionExpired() {
+        JOptionPane.showMessageDialog(this, "Your session has expired. Please log in again.",
+            "Session Expired", JOptionPane.INFORMATION_MESSAGE);
+        logOut();
     }
 
     /**
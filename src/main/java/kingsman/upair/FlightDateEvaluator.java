@@ -0,0 +1,113 @@
+package kingsman.upair;
+
+import com.toedter.calendar.IDateRangeEvaluator;
+import kingsman.upair.model.Schedule;
+import kingsman.upair.service.FlightStatusService;
+
+import java.awt.Color;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Date evaluator for the Book Flight date chooser
+ * Highlights the days with a scheduled flight on the selected route. A whole
+ * month is evaluated with one pass over the schedules, and the day chooser
+ * keeps the result until JDayChooser.invalidateDateEvaluations() is called
+ * (after a route or schedule change)
+ */
+public class FlightDateEvaluator implements IDateRangeEvaluator {
+
+    private static final Color SPECIAL_FOREGROUND = new Color(11, 56, 118);
+    private static final Color SPECIAL_BACKGROUND = new Color(214, 228, 247);
+
+    private String origin;
+    private String destination;
+    private boolean bothDirections;
+
+    /**
+     * Sets the route whose flight days are highlighted
+     * @param origin Origin airport (null for none)
+     * @param destination Destination airport (null for none)
+     * @param bothDirections true to also count the reverse route (round trips)
+     */
+    public void setRoute(String origin, String destination, boolean bothDirections) {
+        this.origin = origin;
+        this.destination = destination;
+        this.bothDirections = bothDirections;
+    }
+
+    @Override
+    public void evaluateMonth(Date firstDay, int dayCount, boolean[] special, boolean[] invalid) {
+        LocalDate first = toLocalDate(firstDay);
+        LocalDate last = first.plusDays(dayCount - 1);
+        for (FlightStatusService.ScheduleWithStatus sws : FlightStatusService.getScheduledFlightsOnly()) {
+            Schedule schedule = sws.getSchedule();
+            LocalDate date = schedule.getDepartureDate();
+            if (date != null && !date.isBefore(first) && !date.isAfter(last) && isOnRoute(schedule)) {
+                special[date.getDayOfMonth() - 1] = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isSpecial(Date date) {
+        LocalDate day = toLocalDate(date);
+        for (FlightStatusService.ScheduleWithStatus sws : FlightStatusService.getScheduledFlightsOnly()) {
+            Schedule schedule = sws.getSchedule();
+            if (day.equals(schedule.getDepartureDate()) && isOnRoute(schedule)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Color getSpecialForegroundColor() {
+        return SPECIAL_FOREGROUND;
+    }
+
+    @Override
+    public Color getSpecialBackroundColor() {
+        return SPECIAL_BACKGROUND;
+    }
+
+    @Override
+    public String getSpecialTooltip() {
+        return "Flights available";
+    }
+
+    @Override
+    public boolean isInvalid(Date date) {
+        return false; // Any day can be searched
+    }
+
+    @Override
+    public Color getInvalidForegroundColor() {
+        return null;
+    }
+
+    @Override
+    public Color getInvalidBackroundColor() {
+        return null;
+    }
+
+    @Override
+    public String getInvalidTooltip() {
+        return null;
+    }
+
+    private boolean isOnRoute(Schedule schedule) {
+        if (origin == null || destination == null) {
+            return false;
+        }
+        boolean forward = origin.equals(schedule.getOrigin()) && destination.equals(schedule.getDestination());
+        boolean reverse = origin.equals(schedule.getDestination()) && destination.equals(schedule.getOrigin());
+        return forward || (bothDirections && reverse);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
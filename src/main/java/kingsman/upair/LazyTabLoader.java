@@ -0,0 +1,57 @@
+package kingsman.upair;
+
+import javax.swing.JTabbedPane;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs each tab's one-time setup (custom components, table models, data
+ * subscriptions) the first time the tab is shown instead of in the frame constructor
+ */
+public class LazyTabLoader {
+
+    private final JTabbedPane tabbedPane;
+    private final Map<Integer, Runnable> pendingInitializers = new HashMap<>();
+
+    /**
+     * Creates a loader for a tabbed pane
+     * @param tabbedPane The tabbed pane
+     */
+    public LazyTabLoader(JTabbedPane tabbedPane) {
+        this.tabbedPane = tabbedPane;
+        tabbedPane.addChangeListener(e -> ensureInitialized(tabbedPane.getSelectedIndex()));
+    }
+
+    /**
+     * Registers the setup of a tab
+     * Runs immediately if the tab is already showing
+     * @param tabIndex Tab index
+     * @param initializer One-time setup, run on the EDT
+     */
+    public void register(int tabIndex, Runnable initializer) {
+        pendingInitializers.put(tabIndex, initializer);
+        if (tabbedPane.getSelectedIndex() == tabIndex) {
+            ensureInitialized(tabIndex);
+        }
+    }
+
+    /**
+     * Runs the setup of a tab if it has not run yet
+     * @param tabIndex Tab index
+     */
+    public void ensureInitialized(int tabIndex) {
+        Runnable initializer = pendingInitializers.remove(tabIndex);
+        if (initializer != null) {
+            initializer.run();
+        }
+    }
+
+    /**
+     * Checks whether a tab has been set up
+     * @param tabIndex Tab index
+     * @return true if the tab has no pending setup
+     */
+    public boolean isInitialized(int tabIndex) {
+        return !pendingInitializers.containsKey(tabIndex);
+    }
+}
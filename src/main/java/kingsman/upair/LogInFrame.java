@@ -6,7 +6,12 @@ package kingsman.upair;
 
 import javax.swing.JOptionPane;
 import kingsman.upair.repository.AdminRepository;
+import kingsman.upair.model.Session;
+import kingsman.upair.service.AsyncService;
+import kingsman.upair.service.LoginRateLimiter;
 import kingsman.upair.service.PassengerLoginService;
+import kingsman.upair.service.SessionManager;
+import kingsman.upair.utils.ImageCache;
 
 /**
  * Login Frame for both passenger and admin login
@@ -21,6 +26,7 @@ public class LogInFrame extends javax.swing.JFrame {
     public LogInFrame() {
         initComponents();
         setLocationRelativeTo(null);
+        setIconImages(ImageCache.getWindowIcons());
         // Initialize admin data files if they don't exist
         AdminRepository.initializeAdminData();
         AdminRepository.initializeAdminPins();
@@ -130,54 +136,96 @@ public class LogInFrame extends javax.swing.JFrame {
             return;
         }
         
-        // Check if admin login
-        if (AdminRepository.validateAdmin(username, password)) {
-            // Request PIN verification
-            String pin = JOptionPane.showInputDialog(this, 
-                "Enter administration PIN (6 characters):", 
-                "Admin PIN Verification", 
-                JOptionPane.QUESTION_MESSAGE);
-            
-            if (pin == null || pin.trim().isEmpty()) {
-                return; // User cancelled
-            }
-            
-            pin = pin.trim();
-            if (pin.length() != 6) {
-                JOptionPane.showMessageDialog(this, 
-                    "PIN must be exactly 6 characters!", 
-                    "PIN Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            // Validate and consume PIN
-            if (AdminRepository.validateAndConsumePin(pin)) {
-                int remainingPins = AdminRepository.getRemainingPinCount();
+        // Throttle repeated attempts before any credentials are checked
+        if (!LoginRateLimiter.tryAcquire(username)) {
+            JOptionPane.showMessageDialog(this, 
+                "Too many login attempts. Please wait a moment and try again.", 
+                "Login Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        // Password hashing is slow by design, so verify in the background
+        logInButton.setEnabled(false); // Prevent double submission while verifying
+        AsyncService.supply(this, null, () -> authenticate(username, password))
+            .whenComplete((role, error) -> logInButton.setEnabled(true))
+            .thenAccept(role -> {
+                if (role == Session.Role.ADMIN) {
+                    verifyAdminPin(username);
+                } else if (role == Session.Role.PASSENGER) {
+                    // Navigate to PassengerFrame
+                    this.dispose();
+                    new PassengerFrame(username, SessionManager.createSession(username, Session.Role.PASSENGER)).setVisible(true);
+                } else {
+                    JOptionPane.showMessageDialog(this, 
+                        "Invalid credentials! Please check your username and password.", 
+                        "Login Error", JOptionPane.ERROR_MESSAGE);
+                }
+            })
+            .exceptionally(error -> {
+                System.err.println("Error logging in: " + AsyncService.unwrap(error).getMessage());
                 JOptionPane.showMessageDialog(this, 
-                    "PIN verified successfully!\nRemaining PINs: " + remainingPins, 
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
-                
-                // Navigate to AdminFrame
-                this.dispose();
-                new AdminFrame().setVisible(true);
-            } else {
+                    "Login failed. Please try again.", 
+                    "Login Error", JOptionPane.ERROR_MESSAGE);
+                return null;
+            });
+    }//GEN-LAST:event_logInButtonActionPerformed
+
+    /**
+     * Checks credentials against the admin and passenger records
+     * Only admin usernames pay for the admin hash. Runs off the EDT
+     * @return The role to log in as, or null if the credentials are invalid
+     */
+    private static Session.Role authenticate(String username, String password) {
+        if (AdminRepository.isAdminUsername(username) && AdminRepository.validateAdmin(username, password)) {
+            return Session.Role.ADMIN;
+        }
+        return PassengerLoginService.validatePassenger(username, password) ? Session.Role.PASSENGER : null;
+    }
+
+    /**
+     * Asks a verified admin for a PIN and opens the admin frame
+     */
+    private void verifyAdminPin(String username) {
+        // Request PIN verification
+        String pin = JOptionPane.showInputDialog(this, 
+            "Enter administration PIN (6 characters):", 
+            "Admin PIN Verification", 
+            JOptionPane.QUESTION_MESSAGE);
+        
+        if (pin == null || pin.trim().isEmpty()) {
+            return; // User cancelled
+        }
+        
+        pin = pin.trim();
+        if (pin.length() != 6) {
+            JOptionPane.showMessageDialog(this, 
+                "PIN must be exactly 6 characters!", 
+                "PIN Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        // Validate and consume PIN
+        if (AdminRepository.validateAndConsumePin(pin)) {
+            int remainingPins = AdminRepository.getRemainingPinCount();
+            JOptionPane.showMessageDialog(this, 
+                "PIN verified successfully!\nRemaining PINs: " + remainingPins, 
+                "Success", JOptionPane.INFORMATION_MESSAGE);
+            if (AdminRepository.isPinBatchFailed()) {
                 JOptionPane.showMessageDialog(this, 
-                    "Invalid PIN! Please try again.", 
-                    "PIN Error", JOptionPane.ERROR_MESSAGE);
+                    "New administration PINs could not be saved to administration_pin.txt.\n"
+                        + "Check that the file is writable; saving is retried at the next PIN use.", 
+                    "PIN Warning", JOptionPane.WARNING_MESSAGE);
             }
+            
+            // Navigate to AdminFrame
+            this.dispose();
+            new AdminFrame(SessionManager.createSession(username, Session.Role.ADMIN)).setVisible(true);
         } else {
-            // Check passenger login
-            if (PassengerLoginService.validatePassenger(username, password)) {
-                // Navigate to PassengerFrame
-                this.dispose();
-                new PassengerFrame(username).setVisible(true);
-            } else {
-                JOptionPane.showMessageDialog(this, 
-                    "Invalid credentials! Please check your username and password.", 
-                    "Login Error", JOptionPane.ERROR_MESSAGE);
-            }
+            JOptionPane.showMessageDialog(this, 
+                "Invalid PIN! Please try again.", 
+                "PIN Error", JOptionPane.ERROR_MESSAGE);
         }
-    }//GEN-LAST:event_logInButtonActionPerformed
+    }
 
     /**
      * @param args the command line arguments
@@ -19,11 +19,20 @@ import kingsman.upair.model.Flight;
 import kingsman.upair.model.Schedule;
 import kingsman.upair.model.Booking;
 import kingsman.upair.model.FlightOffer;
+import kingsman.upair.model.FareBucket;
+import kingsman.upair.service.AsyncService;
+import kingsman.upair.service.FareBucketService;
 import kingsman.upair.service.FlightStatusService;
 import kingsman.upair.service.ScheduleService;
+import kingsman.upair.service.SessionManager;
+import kingsman.upair.service.TickService;
 import kingsman.upair.service.PriceCalculationService;
 import kingsman.upair.repository.BookingRepository;
 import kingsman.upair.repository.FlightRepository;
+import kingsman.upair.repository.RepositoryListener;
+import kingsman.upair.repository.ScheduleRepository;
+import kingsman.upair.utils.ImageCache;
+import kingsman.upair.utils.Money;
 
 /**
  * Passenger Frame for passenger operations
@@ -32,13 +41,26 @@ import kingsman.upair.repository.FlightRepository;
  */
 public class PassengerFrame extends javax.swing.JFrame {
     
+    // Tab indexes in userTabbedPanel
+    private static final int FLIGHT_OVERVIEW_TAB = 1;
+    private static final int BOOK_FLIGHT_TAB = 2;
+    
     private String currentUsername = ""; // Will be set from login
-    private Timer statusUpdateTimer; // Timer for real-time status updates
+    private String sessionToken; // Issued at login (see SessionManager)
     private String selectedFlightCode = ""; // Currently selected flight for booking
     private Schedule selectedSchedule = null; // Currently selected schedule
     private List<String> selectedSeats = new ArrayList<>(); // Selected seats
     private Map<String, String> seatToPassengerName = new HashMap<>(); // Seat to passenger name mapping
     private boolean isRoundTrip = false; // Trip type flag
+    private long selectedTotalPrice = 0L; // Price of current selection in centavos
+    private FareBucket selectedFareBucket = null; // Lowest open fare bucket for the current selection
+    private SeatMapComponent seatMap; // Painted cabin seat map
+    private LazyTabLoader lazyTabs; // Runs each tab's setup on first display
+    private RepositoryTableModel<FlightStatusService.ScheduleWithStatus> flightOverviewModel;
+    private RepositoryListener<Schedule> scheduleListener; // Keeps the overview in sync with schedule changes
+    private Timer overviewRefreshTimer; // Coalesces overview refreshes after schedule changes
+    private final FlightDateEvaluator flightDateEvaluator = new FlightDateEvaluator(); // Flight days in the booking calendar
+    private boolean flightDateUpdatePending = false; // A route change re-evaluation is queued
 
     /**
      * Creates new form PassengerFrame
@@ -60,10 +82,25 @@ public class PassengerFrame extends javax.swing.JFrame {
         setLocationRelativeTo(null);
     }
     
+    /**
+     * Creates new form PassengerFrame for a logged-in session
+     * @param username The passenger's username
+     * @param sessionToken The session issued at login, ended on log out or when the frame closes
+     */
+    public PassengerFrame(String username, String sessionToken) {
+        this(username);
+        this.sessionToken = sessionToken;
+        if (sessionToken != null) {
+            SessionManager.attach(this, sessionToken, this::sessionExpired);
+        }
+    }
+    
     /**
      * Initializes passenger components
      */
     private void initializePassengerComponents() {
+        setIconImages(ImageCache.getWindowIcons());
+        
         // Initialize airport dropdowns
         initializeAirportDropdowns();
         
@@ -104,11 +141,18 @@ public class PassengerFrame extends javax.swing.JFrame {
         adultCounter.addChangeListener(e -> updatePriceIfFlightSelected());
         minorCounter.addChangeListener(e -> updatePriceIfFlightSelected());
         
+        // Highlight the days with flights on the selected route
+        initializeFlightDateEvaluator();
+        
+        // Tab setup and data loads happen on first display
+        lazyTabs = new LazyTabLoader(userTabbedPanel);
+        lazyTabs.register(FLIGHT_OVERVIEW_TAB, this::initializeFlightOverviewModel);
+        lazyTabs.register(BOOK_FLIGHT_TAB, this::initializeSeatMap);
+        
         // Start real-time status updates
         startStatusUpdateTimer();
         
-        // Load initial flight overview
-        populateFlightOverview();
+        logOutButton.addActionListener(e -> logOut());
     }
     
     /**
@@ -191,6 +235,47 @@ public class PassengerFrame extends javax.swing.JFrame {
         updateOriginDestinationDropdowns();
     }
     
+    /**
+     * Adds the flight-day evaluator to the booking date chooser
+     * The day chooser caches each month's evaluation, so it is invalidated
+     * when the route, trip type or schedules change
+     */
+    private void initializeFlightDateEvaluator() {
+        com.toedter.calendar.JDayChooser dayChooser = bookflightDateChooser.getJCalendar().getDayChooser();
+        dayChooser.addDateEvaluator(flightDateEvaluator);
+        
+        // Refilling the dropdowns fires many events; re-evaluate once afterwards
+        java.awt.event.ActionListener routeListener = e -> {
+            if (!flightDateUpdatePending) {
+                flightDateUpdatePending = true;
+                javax.swing.SwingUtilities.invokeLater(this::updateFlightDateEvaluator);
+            }
+        };
+        originToBook.addActionListener(routeListener);
+        destinationToBook.addActionListener(routeListener);
+        
+        RepositoryListener<Schedule> flightDateListener = (change, schedule) ->
+            javax.swing.SwingUtilities.invokeLater(dayChooser::invalidateDateEvaluations);
+        ScheduleRepository.addListener(flightDateListener);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                ScheduleRepository.removeListener(flightDateListener);
+            }
+        });
+        updateFlightDateEvaluator();
+    }
+    
+    /**
+     * Points the flight-day evaluator at the selected route and redraws the days
+     */
+    private void updateFlightDateEvaluator() {
+        flightDateUpdatePending = false;
+        flightDateEvaluator.setRoute((String) originToBook.getSelectedItem(),
+            (String) destinationToBook.getSelectedItem(), roundTripType.isSelected());
+        bookflightDateChooser.getJCalendar().getDayChooser().invalidateDateEvaluations();
+    }
+    
     /**
      * Updates origin and destination dropdowns based on trip type
      */
@@ -215,68 +300,125 @@ public class PassengerFrame extends javax.swing.JFrame {
     }
     
     /**
-     * Starts timer for real-time status updates
+     * Subscribes to the shared tick for real-time status updates
+     * The subscription ends when this frame is disposed (e.g. on logout)
      */
     private void startStatusUpdateTimer() {
-        statusUpdateTimer = new Timer(60000, e -> { // Update every minute
-            populateFlightOverview();
+        TickService.subscribe(this, 60, () -> { // Update every minute
+            if (lazyTabs.isInitialized(FLIGHT_OVERVIEW_TAB)) { // Nothing to refresh until first shown
+                populateFlightOverview();
+            }
         });
-        statusUpdateTimer.start();
     }
     
     /**
-     * Populates flight overview table with real-time status
+     * Closes this frame and returns to the login screen
+     * Disposing the frame releases its tick subscription and repository listeners
      */
-    private void populateFlightOverview() {
-        DefaultTableModel model = (DefaultTableModel) flightOverviewTable.getModel();
-        model.setRowCount(0);
-        
-        List<FlightStatusService.ScheduleWithStatus> schedules = FlightStatusService.getSchedulesWithStatus();
-        
-        for (FlightStatusService.ScheduleWithStatus sws : schedules) {
-            Schedule schedule = sws.getSchedule();
-            String status = sws.getStatus();
-            
-            model.addRow(new Object[]{
-                schedule.getAirline(),
-                schedule.getFlightCode(),
-                schedule.getOrigin(),
-                schedule.getDestination(),
-                schedule.getDepartureDate().toString(),
-                schedule.getDepartureTime().toString(),
-                status
+    private void logOut() {
+        SessionManager.invalidate(sessionToken);
+        dispose();
+        new LogInFrame().setVisible(true);
+    }
+
+    /**
+     * Logs out after the session expired from inactivity or age
+     */
+    private void sessionExpired() {
+        JOptionPane.showMessageDialog(this, "Your session has expired. Please log in again.",
+            "Session Expired", JOptionPane.INFORMATION_MESSAGE);
+        logOut();
+    }
+    
+    /**
+     * Replaces the generated flight overview model with a repository-backed model
+     * Deleted schedules are removed row by row; added or edited schedules trigger
+     * one coalesced refresh, since their status is computed by FlightStatusService
+     */
+    private void initializeFlightOverviewModel() {
+        flightOverviewModel = new RepositoryTableModel<>(
+            RepositoryTableModel.columnNamesOf(flightOverviewTable.getModel()),
+            sws -> sws.getSchedule().getScheduleId(),
+            (sws, column) -> {
+                Schedule schedule = sws.getSchedule();
+                switch (column) {
+                    case 0: return schedule.getAirline();
+                    case 1: return schedule.getFlightCode();
+                    case 2: return schedule.getOrigin();
+                    case 3: return schedule.getDestination();
+                    case 4: return schedule.getDepartureDate() + " " + schedule.getDepartureTime();
+                    default: return sws.getStatus();
+                }
             });
-        }
+        flightOverviewModel.setEmptyMessage("No available flights");
+        flightOverviewTable.setModel(flightOverviewModel);
         
-        // Show message if no flights - check column count first
-        if (model.getRowCount() == 0) {
-            int colCount = model.getColumnCount();
-            Object[] emptyRow = new Object[colCount];
-            for (int i = 0; i < colCount - 1; i++) {
-                emptyRow[i] = "";
+        overviewRefreshTimer = new Timer(250, e -> populateFlightOverview());
+        overviewRefreshTimer.setRepeats(false);
+        
+        scheduleListener = (change, schedule) -> javax.swing.SwingUtilities.invokeLater(() -> {
+            if (change == RepositoryListener.Change.DELETED) {
+                flightOverviewModel.removeRow(schedule.getScheduleId());
+                flightOverviewTable.setEnabled(!flightOverviewModel.isEmpty());
+            } else {
+                overviewRefreshTimer.restart();
             }
-            emptyRow[colCount - 1] = "No available flights";
-            model.addRow(emptyRow);
-            flightOverviewTable.setEnabled(false);
-        } else {
-            flightOverviewTable.setEnabled(true);
+        });
+        ScheduleRepository.addListener(scheduleListener);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                ScheduleRepository.removeListener(scheduleListener);
+                overviewRefreshTimer.stop();
+            }
+        });
+    }
+    
+    /**
+     * Populates flight overview table with real-time status
+     * Status reaping runs in the background; a newer refresh or search supersedes this one
+     */
+    private void populateFlightOverview() {
+        lazyTabs.ensureInitialized(FLIGHT_OVERVIEW_TAB);
+        if (flightOverviewModel.isEmpty()) {
+            flightOverviewModel.setLoading(true); // Placeholder until the first rows arrive
+        }
+        AsyncService.supply(this, "flightOverview", FlightStatusService::getSchedulesWithStatus)
+            .thenAccept(this::showFlightOverview)
+            .exceptionally(this::handleAsyncError);
+    }
+    
+    /**
+     * Fills the flight overview table (on the EDT)
+     */
+    private void showFlightOverview(List<FlightStatusService.ScheduleWithStatus> schedules) {
+        flightOverviewModel.replaceRows(schedules);
+        flightOverviewTable.setEnabled(!flightOverviewModel.isEmpty());
+    }
+    
+    /**
+     * Reports a failed background request, ignoring superseded ones
+     */
+    private Void handleAsyncError(Throwable error) {
+        if (!AsyncService.isCancelled(error)) {
+            Throwable cause = AsyncService.unwrap(error);
+            System.err.println("Background request failed: " + cause.getMessage());
+            JOptionPane.showMessageDialog(this, "Something went wrong: " + cause.getMessage(), 
+                "Error", JOptionPane.ERROR_MESSAGE);
         }
+        return null;
     }
     
     /**
      * Populates available flights for booking (only Scheduled status)
      */
     private void populateAvailableFlightsForBooking() {
-        DefaultTableModel model = (DefaultTableModel) bookFlightResultTable.getModel();
-        model.setRowCount(0);
-        
-        // Get only scheduled flights
-        List<FlightStatusService.ScheduleWithStatus> schedules = FlightStatusService.getScheduledFlightsOnly();
-        
-        // Filter by origin, destination, and date if provided
+        // Read the filters on the EDT
         String origin = (String) originToBook.getSelectedItem();
         String destination = (String) destinationToBook.getSelectedItem();
         Date selectedDate = bookflightDateChooser.getDate();
+        boolean roundTrip = roundTripType.isSelected();
+        boolean oneWay = oneWayType.isSelected();
         LocalDate filterDate = null;
         
         if (selectedDate != null) {
@@ -285,16 +427,33 @@ public class PassengerFrame extends javax.swing.JFrame {
             filterDate = LocalDate.of(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
         }
         
+        LocalDate date = filterDate;
+        AsyncService.supply(this, "availableFlights",
+                () -> findAvailableFlights(origin, destination, date, roundTrip, oneWay))
+            .thenAccept(this::showAvailableFlights)
+            .exceptionally(this::handleAsyncError);
+    }
+    
+    /**
+     * Finds scheduled flights matching the booking filters (runs in the background)
+     */
+    private static List<Schedule> findAvailableFlights(String origin, String destination, LocalDate filterDate,
+                                                       boolean roundTrip, boolean oneWay) {
+        List<Schedule> available = new ArrayList<>();
+        
+        // Get only scheduled flights
+        List<FlightStatusService.ScheduleWithStatus> schedules = FlightStatusService.getScheduledFlightsOnly();
+        
         for (FlightStatusService.ScheduleWithStatus sws : schedules) {
             Schedule schedule = sws.getSchedule();
             boolean matches = false;
             
-            if (roundTripType.isSelected() && origin != null && destination != null) {
+            if (roundTrip && origin != null && destination != null) {
                 // Round trip: match either direction (DRP->MNL or MNL->DRP)
                 boolean forwardMatch = schedule.getOrigin().equals(origin) && schedule.getDestination().equals(destination);
                 boolean reverseMatch = schedule.getOrigin().equals(destination) && schedule.getDestination().equals(origin);
                 matches = forwardMatch || reverseMatch;
-            } else if (oneWayType.isSelected()) {
+            } else if (oneWay) {
                 // One way: exact match
                 matches = (origin == null || schedule.getOrigin().equals(origin)) &&
                          (destination == null || schedule.getDestination().equals(destination));
@@ -305,16 +464,29 @@ public class PassengerFrame extends javax.swing.JFrame {
             }
             
             if (matches) {
-                model.addRow(new Object[]{
-                    schedule.getAirline(),
-                    schedule.getFlightCode(),
-                    schedule.getOrigin(),
-                    schedule.getDestination(),
-                    schedule.getDepartureDate().toString(),
-                    schedule.getDepartureTime().toString()
-                });
+                available.add(schedule);
             }
         }
+        return available;
+    }
+    
+    /**
+     * Fills the available flights table (on the EDT)
+     */
+    private void showAvailableFlights(List<Schedule> schedules) {
+        DefaultTableModel model = (DefaultTableModel) bookFlightResultTable.getModel();
+        model.setRowCount(0);
+        
+        for (Schedule schedule : schedules) {
+            model.addRow(new Object[]{
+                schedule.getAirline(),
+                schedule.getFlightCode(),
+                schedule.getOrigin(),
+                schedule.getDestination(),
+                schedule.getDepartureDate().toString(),
+                schedule.getDepartureTime().toString()
+            });
+        }
         
         // Show message if no flights - check column count first
         if (model.getRowCount() == 0) {
@@ -332,25 +504,48 @@ public class PassengerFrame extends javax.swing.JFrame {
         
         // Clear previous selection
         selectedSchedule = null;
-        totalPrice.setText("PHP 0.00");
+        selectedTotalPrice = 0L;
+        selectedFareBucket = null;
+        totalPrice.setText(Money.format(0L));
         clearSeatPanels();
     }
     
     /**
-     * Generates seat buttons in the specific seat panels
-     * Business Class: 2 panels (businessClassSeats1, businessClassSeats2) - 2 columns x 10 rows = 20 seats each (40 total)
-     * Economy Class: 4 panels (economyClassSeats1-4) - 3 columns x 12 rows = 36 seats each (144 total)
+     * Initializes the seat map in place of the six generated seat panels
+     * Blocks keep the panels' positions and grids:
+     * Business Class: A and B - 2 columns x 10 rows = 20 seats each (40 total)
+     * Economy Class: C to F - 3 columns x 12 rows = 36 seats each (144 total)
      * Total: 184 seats
      */
-    private void generateSeatButtons() {
-        // Clear all seat panels
-        businessClassSeats1.removeAll();
-        businessClassSeats2.removeAll();
-        economyClassSeats1.removeAll();
-        economyClassSeats2.removeAll();
-        economyClassSeats3.removeAll();
-        economyClassSeats4.removeAll();
-        
+    private void initializeSeatMap() {
+        seatsPanell.remove(businessClassSeats1);
+        seatsPanell.remove(businessClassSeats2);
+        seatsPanell.remove(economyClassSeats1);
+        seatsPanell.remove(economyClassSeats2);
+        seatsPanell.remove(economyClassSeats3);
+        seatsPanell.remove(economyClassSeats4);
+        
+        seatMap = new SeatMapComponent();
+        seatMap.addBlock("A", 20, 2, new java.awt.Rectangle(20, 50, 130, 610));
+        seatMap.addBlock("B", 20, 2, new java.awt.Rectangle(160, 50, 130, 610));
+        seatMap.addBlock("C", 36, 3, new java.awt.Rectangle(160, 1350, 140, 610));
+        seatMap.addBlock("D", 36, 3, new java.awt.Rectangle(160, 710, 140, 610));
+        seatMap.addBlock("E", 36, 3, new java.awt.Rectangle(10, 710, 140, 610));
+        seatMap.addBlock("F", 36, 3, new java.awt.Rectangle(10, 1350, 140, 610));
+        seatMap.setSeatActivatedListener(this::handleSeatSelection);
+        seatMap.clearSeats();
+        
+        java.awt.Dimension size = seatMap.getPreferredSize();
+        seatsPanell.add(seatMap, new org.netbeans.lib.awtextra.AbsoluteConstraints(0, 0, size.width, size.height));
+        seatsPanell.revalidate();
+    }
+    
+    /**
+     * Shows the seat states of the selected flight
+     * Only the state array changes; no components are created
+     */
+    private void refreshSeatMap() {
+        lazyTabs.ensureInitialized(BOOK_FLIGHT_TAB);
         // Get reserved seats for this flight
         List<String> reservedSeats = new ArrayList<>();
         if (selectedSchedule != null) {
@@ -360,85 +555,13 @@ public class PassengerFrame extends javax.swing.JFrame {
             );
         }
         
-        // Business Class Seats - Panel 1 (A1-A20)
-        generateSeatButtonsForPanel(businessClassSeats1, 1, 20, reservedSeats, "A");
-        
-        // Business Class Seats - Panel 2 (B1-B20)
-        generateSeatButtonsForPanel(businessClassSeats2, 1, 20, reservedSeats, "B");
-        
-        // Economy Class Seats - Panel 1 (C1-C36)
-        generateSeatButtonsForPanel(economyClassSeats1, 1, 36, reservedSeats, "C");
-        
-        // Economy Class Seats - Panel 2 (D1-D36)
-        generateSeatButtonsForPanel(economyClassSeats2, 1, 36, reservedSeats, "D");
-        
-        // Economy Class Seats - Panel 3 (E1-E36)
-        generateSeatButtonsForPanel(economyClassSeats3, 1, 36, reservedSeats, "E");
-        
-        // Economy Class Seats - Panel 4 (F1-F36)
-        generateSeatButtonsForPanel(economyClassSeats4, 1, 36, reservedSeats, "F");
-        
-        // Revalidate and repaint all panels
-        businessClassSeats1.revalidate();
-        businessClassSeats1.repaint();
-        businessClassSeats2.revalidate();
-        businessClassSeats2.repaint();
-        economyClassSeats1.revalidate();
-        economyClassSeats1.repaint();
-        economyClassSeats2.revalidate();
-        economyClassSeats2.repaint();
-        economyClassSeats3.revalidate();
-        economyClassSeats3.repaint();
-        economyClassSeats4.revalidate();
-        economyClassSeats4.repaint();
-    }
-    
-    /**
-     * Generates seat buttons for a specific panel
-     * @param panel The panel to add buttons to
-     * @param startSeat Starting seat number
-     * @param endSeat Ending seat number
-     * @param reservedSeats List of reserved seats
-     * @param seatLetter The letter prefix for seats (A, B, C, D, E, F)
-     */
-    private void generateSeatButtonsForPanel(javax.swing.JPanel panel, int startSeat, int endSeat, 
-                                             List<String> reservedSeats, String seatLetter) {
-        for (int seatNum = startSeat; seatNum <= endSeat; seatNum++) {
-            String seatLabel = seatLetter + seatNum;
-            
-            javax.swing.JButton seatButton = new javax.swing.JButton(seatLabel);
-            seatButton.setFont(new java.awt.Font("Arial", 1, 10));
-            seatButton.setFocusPainted(false);
-            
-            // Check if seat is reserved
-            if (reservedSeats.contains(seatLabel)) {
-                seatButton.setBackground(Color.RED);
-                seatButton.setForeground(Color.WHITE);
-                seatButton.setEnabled(false);
-                seatButton.setToolTipText("Reserved");
-            } else if (selectedSeats.contains(seatLabel)) {
-                // Selected seat - disabled with blue background
-                seatButton.setBackground(Color.BLUE);
-                seatButton.setForeground(Color.WHITE);
-                seatButton.setEnabled(false);
-                seatButton.setToolTipText("Selected: " + seatToPassengerName.get(seatLabel));
-            } else {
-                // Available seat - green text on white/light background
-                seatButton.setBackground(Color.WHITE);
-                seatButton.setForeground(new Color(0, 128, 0)); // Dark green for readability
-                seatButton.setEnabled(true);
-                seatButton.setToolTipText("Available");
-            }
-            
-            seatButton.addActionListener(e -> handleSeatSelection(seatButton, seatLabel));
-            panel.add(seatButton);
-        }
+        seatMap.setSeatStates(reservedSeats, selectedSeats);
     }
     
     /**
      * Handles seat selection
      */
-    private void handleSeatSelection(javax.swing.JButton seatButton, String seatLabel) {
+    private void handleSeatSelection(String seatLabel) {
         int totalPassengers = (Integer) adultCounter.getValue() + (Integer) minorCounter.getValue();
         
         if (selectedSeats.size() >= totalPassengers) {
@@ -459,11 +582,8 @@ public class PassengerFrame extends javax.swing.JFrame {
         
         if (passengerName != null && !passengerName.trim().isEmpty()) {
             seatToPassengerName.put(seatLabel, passengerName.trim());
-            // Update button appearance - disabled with blue background
-            seatButton.setBackground(Color.BLUE);
-            seatButton.setForeground(Color.WHITE);
-            seatButton.setEnabled(false);
-            seatButton.setToolTipText("Selected: " + passengerName.trim());
+            // Repaint just this seat as selected
+            seatMap.setSeatState(seatLabel, SeatMapComponent.SELECTED, passengerName.trim());
         } else {
             selectedSeats.remove(seatLabel);
             JOptionPane.showMessageDialog(this, 
@@ -1926,36 +2046,12 @@ public class PassengerFrame extends javax.swing.JFrame {
             filterDate = LocalDate.of(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
         }
         
-        // Filter schedules
-        DefaultTableModel model = (DefaultTableModel) flightOverviewTable.getModel();
-        model.setRowCount(0);
-        
-        List<FlightStatusService.ScheduleWithStatus> filtered = FlightStatusService.getFilteredSchedules(
-            filterDate, 
-            origin, 
-            destination
-        );
-        
-        for (FlightStatusService.ScheduleWithStatus sws : filtered) {
-            Schedule schedule = sws.getSchedule();
-            model.addRow(new Object[]{
-                schedule.getAirline(),
-                schedule.getFlightCode(),
-                schedule.getOrigin(),
-                schedule.getDestination(),
-                schedule.getDepartureDate().toString(),
-                schedule.getDepartureTime().toString(),
-                sws.getStatus()
-            });
-        }
-        
-        // Show message if no flights
-        if (model.getRowCount() == 0) {
-            model.addRow(new Object[]{"", "", "", "", "", "", "No available flights"});
-            flightOverviewTable.setEnabled(false);
-        } else {
-            flightOverviewTable.setEnabled(true);
-        }
+        // Filter schedules in the background; supersedes any pending overview refresh
+        LocalDate date = filterDate;
+        AsyncService.supply(this, "flightOverview",
+                () -> FlightStatusService.getFilteredSchedules(date, origin, destination))
+            .thenAccept(this::showFlightOverview)
+            .exceptionally(this::handleAsyncError);
     }//GEN-LAST:event_searchFlightButtonActionPerformed
 
     private void refreshButton2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_refreshButton2ActionPerformed
@@ -1992,7 +2088,7 @@ public class PassengerFrame extends javax.swing.JFrame {
         booking.setNumberOfMinors((Integer) minorCounter.getValue());
         booking.setReservedSeats(new ArrayList<>(selectedSeats));
         booking.setPassengerNames(new ArrayList<>(seatToPassengerName.values()));
-        booking.setTotalPrice(Double.parseDouble(totalPrice.getText().replace("PHP ", "").replace(",", "")));
+        booking.setTotalPrice(selectedTotalPrice);
         
         // Get payment method
         String paymentMethodValue = (String) paymentMethod.getSelectedItem();
@@ -2004,12 +2100,12 @@ public class PassengerFrame extends javax.swing.JFrame {
         booking.setPaymentType(paymentMethodValue != null ? paymentMethodValue : "Online");
         
         // For round trip, we need to find return flight
+        Schedule returnSchedule = null;
         if (isRoundTrip) {
             // Find return flight (destination to origin)
             List<FlightStatusService.ScheduleWithStatus> returnFlights = 
                 FlightStatusService.getScheduledFlightsOnly();
             
-            Schedule returnSchedule = null;
             for (FlightStatusService.ScheduleWithStatus sws : returnFlights) {
                 Schedule s = sws.getSchedule();
                 if (s.getOrigin().equals(selectedSchedule.getDestination()) &&
@@ -2032,26 +2128,88 @@ public class PassengerFrame extends javax.swing.JFrame {
             booking.setReturnTime(returnSchedule.getDepartureTime());
         }
         
+        // Reserve, save and write the receipt in the background
+        Schedule schedule = selectedSchedule;
+        Schedule returnLeg = returnSchedule;
+        FareBucket fareBucket = selectedFareBucket;
+        bookButton.setEnabled(false); // Prevent double submission while saving
+        AsyncService.supply(this, null, () -> submitBooking(booking, schedule, returnLeg, fareBucket, totalPassengers))
+            .whenComplete((submission, error) -> bookButton.setEnabled(true))
+            .thenAccept(submission -> {
+                if (submission.returnSoldOut) {
+                    JOptionPane.showMessageDialog(this, 
+                        "The return flight no longer has " + totalPassengers + " seats available.", 
+                        "Return Flight Unavailable", JOptionPane.WARNING_MESSAGE);
+                } else if (!submission.fareAvailable) {
+                    JOptionPane.showMessageDialog(this, 
+                        "The selected fare is no longer available. Please review the updated price.", 
+                        "Fare Unavailable", JOptionPane.WARNING_MESSAGE);
+                    updatePriceIfFlightSelected();
+                } else if (submission.saved) {
+                    // Show receipt panel
+                    showReceiptPanel(submission.receiptPath, booking);
+                    
+                    JOptionPane.showMessageDialog(this, 
+                        "Booking confirmed! Booking ID: " + booking.getBookingId() + "\nReceipt generated!", 
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
+                    clearBookingForm();
+                    populateAvailableFlightsForBooking();
+                } else {
+                    JOptionPane.showMessageDialog(this, 
+                        "Failed to create booking! Please try again.", 
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            })
+            .exceptionally(this::handleAsyncError);
+    }//GEN-LAST:event_bookButtonActionPerformed
+
+    /**
+     * Outcome of a background booking submission
+     */
+    private static class BookingSubmission {
+        private boolean fareAvailable;
+        private boolean returnSoldOut;
+        private boolean saved;
+        private String receiptPath;
+    }
+    
+    /**
+     * Reserves fare bucket inventory on both legs, saves the booking and generates the receipt
+     * The outbound leg sells from the priced bucket; the return leg (not priced separately)
+     * sells from its lowest open bucket so its booking limits still hold
+     * Runs in the background, so it must not touch Swing components
+     */
+    private BookingSubmission submitBooking(Booking booking, Schedule schedule, Schedule returnSchedule,
+                                            FareBucket fareBucket, int seats) {
+        BookingSubmission submission = new BookingSubmission();
+        
+        // Reserve inventory from the priced fare bucket
+        if (fareBucket == null || !FareBucketService.reserveSeats(schedule, fareBucket.getBucketCode(), seats)) {
+            return submission;
+        }
+        submission.fareAvailable = true;
+        booking.setFareBucket(fareBucket.getBucketCode());
+        
+        if (returnSchedule != null) {
+            FareBucket returnBucket = FareBucketService.reserveLowestOpenSeats(returnSchedule, seats);
+            if (returnBucket == null) {
+                FareBucketService.releaseSeats(booking); // Outbound leg only, no return bucket yet
+                submission.returnSoldOut = true;
+                return submission;
+            }
+            booking.setReturnFareBucket(returnBucket.getBucketCode());
+        }
+        
         // Save booking
-        boolean saved = BookingRepository.saveBooking(booking);
-        if (saved) {
+        submission.saved = BookingRepository.saveBooking(booking);
+        if (submission.saved) {
             // Generate receipt
-            String receiptPath = generateReceipt(booking);
-            
-            // Show receipt panel
-            showReceiptPanel(receiptPath, booking);
-            
-            JOptionPane.showMessageDialog(this, 
-                "Booking confirmed! Booking ID: " + booking.getBookingId() + "\nReceipt generated!", 
-                "Success", JOptionPane.INFORMATION_MESSAGE);
-            clearBookingForm();
-            populateAvailableFlightsForBooking();
+            submission.receiptPath = generateReceipt(booking);
         } else {
-            JOptionPane.showMessageDialog(this, 
-                "Failed to create booking! Please try again.", 
-                "Error", JOptionPane.ERROR_MESSAGE);
+            FareBucketService.releaseSeats(booking);
         }
-    }//GEN-LAST:event_bookButtonActionPerformed
+        return submission;
+    }
 
     private void flightOverviewButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_flightOverviewButtonActionPerformed
         // Flight Overview panel is at index 1
@@ -2109,24 +2267,9 @@ public class PassengerFrame extends javax.swing.JFrame {
      * Clears seat panels
      */
     private void clearSeatPanels() {
-        businessClassSeats1.removeAll();
-        businessClassSeats2.removeAll();
-        economyClassSeats1.removeAll();
-        economyClassSeats2.removeAll();
-        economyClassSeats3.removeAll();
-        economyClassSeats4.removeAll();
-        businessClassSeats1.revalidate();
-        businessClassSeats1.repaint();
-        businessClassSeats2.revalidate();
-        businessClassSeats2.repaint();
-        economyClassSeats1.revalidate();
-        economyClassSeats1.repaint();
-        economyClassSeats2.revalidate();
-        economyClassSeats2.repaint();
-        economyClassSeats3.revalidate();
-        economyClassSeats3.repaint();
-        economyClassSeats4.revalidate();
-        economyClassSeats4.repaint();
+        if (seatMap != null) { // Not created until the Book Flight tab is first shown
+            seatMap.clearSeats();
+        }
     }
     
     /**
@@ -2179,8 +2322,8 @@ public class PassengerFrame extends javax.swing.JFrame {
         // Calculate and display price
         updatePriceForSelectedFlight(flight, schedule.getDepartureDate());
         
-        // Generate seat buttons
-        generateSeatButtons();
+        // Show seat availability
+        refreshSeatMap();
     }
     
     /**
@@ -2211,13 +2354,23 @@ public class PassengerFrame extends javax.swing.JFrame {
         // Determine seat preference (default to Standard)
         String seatPreference = "Standard";
         
+        // Find the cheapest fare bucket that still has room for the whole party
+        selectedFareBucket = selectedSchedule != null
+            ? FareBucketService.findLowestOpenBucket(selectedSchedule, adults + minors)
+            : null;
+        if (selectedSchedule != null && selectedFareBucket == null) {
+            selectedTotalPrice = 0L;
+            totalPrice.setText("Sold out");
+            return;
+        }
+        
         // Calculate price
-        double totalPriceValue = PriceCalculationService.calculatePrice(
-            flight, adults, minors, date, seatPreference, null, offer
+        selectedTotalPrice = PriceCalculationService.calculatePrice(
+            flight, selectedFareBucket, adults, minors, date, seatPreference, null, offer
         );
         
         // Display price
-        totalPrice.setText(String.format("PHP %,.2f", totalPriceValue));
+        totalPrice.setText(Money.format(selectedTotalPrice));
     }
     
     /**
@@ -2227,7 +2380,9 @@ public class PassengerFrame extends javax.swing.JFrame {
         selectedSchedule = null;
         selectedSeats.clear();
         seatToPassengerName.clear();
-        totalPrice.setText("PHP 0.00");
+        selectedTotalPrice = 0L;
+        selectedFareBucket = null;
+        totalPrice.setText(Money.format(0L));
         // Clear seat panels
         clearSeatPanels();
     }
@@ -2339,7 +2494,7 @@ public class PassengerFrame extends javax.swing.JFrame {
                 }
                 writer.println();
                 writer.println("-".repeat(60));
-                writer.printf("%-20s: PHP %,.2f%n", "TOTAL AMOUNT", booking.getTotalPrice());
+                writer.printf("%-20s: %s%n", "TOTAL AMOUNT", Money.format(booking.getTotalPrice()));
                 writer.println();
                 
                 // Payment Information
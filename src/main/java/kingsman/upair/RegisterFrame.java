@@ -8,6 +8,7 @@ import javax.swing.JOptionPane;
 import kingsman.upair.model.Account;
 import kingsman.upair.model.Passenger;
 import kingsman.upair.service.RegistrationService;
+import kingsman.upair.utils.ImageCache;
 import kingsman.upair.utils.ValidationUtils;
 
 /**
@@ -24,6 +25,7 @@ public class RegisterFrame extends javax.swing.JFrame {
     public RegisterFrame() {
         initComponents();
         setLocationRelativeTo(null);
+        setIconImages(ImageCache.getWindowIcons());
         populateIDTypeComboBox();
     }
     
@@ -0,0 +1,261 @@
+package kingsman.upair;
+
+import kingsman.upair.repository.RepositoryListener;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Table model backed by repository row objects
+ * Cell values are computed lazily in getValueAt, and repository change
+ * notifications are applied as single-row insert/update/delete events, so
+ * table selection and scroll position survive refreshes
+ *
+ * @param <T> Row object type (e.g. Booking)
+ */
+public class RepositoryTableModel<T> extends AbstractTableModel implements RepositoryListener<T> {
+
+    /**
+     * Computes the value of one cell from a row object
+     */
+    public interface ColumnValue<T> {
+        Object valueAt(T row, int column);
+    }
+
+    private final String[] columnNames;
+    private final Function<T, String> keyOf;
+    private final ColumnValue<T> columnValue;
+    private Predicate<T> filter = row -> true;
+    private String emptyMessage;
+    private boolean loading;
+
+    private final List<T> rows = new ArrayList<>();
+    private final Map<String, Integer> rowIndex = new HashMap<>();
+
+    /**
+     * Creates a table model
+     * @param columnNames Column headers
+     * @param keyOf Extracts the unique key of a row object (e.g. booking ID)
+     * @param columnValue Computes cell values
+     */
+    public RepositoryTableModel(String[] columnNames, Function<T, String> keyOf, ColumnValue<T> columnValue) {
+        this.columnNames = columnNames.clone();
+        this.keyOf = keyOf;
+        this.columnValue = columnValue;
+    }
+
+    /**
+     * Reads the column headers of an existing model (e.g. the one generated by the form editor)
+     * @param model The existing model
+     * @return Column headers
+     */
+    public static String[] columnNamesOf(TableModel model) {
+        String[] names = new String[model.getColumnCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = model.getColumnName(i);
+        }
+        return names;
+    }
+
+    /**
+     * Sets which row objects belong in this table
+     * Only applied to later changes; call replaceRows to re-filter existing data
+     * @param filter The filter
+     */
+    public void setFilter(Predicate<T> filter) {
+        this.filter = filter != null ? filter : row -> true;
+    }
+
+    /**
+     * Sets a message shown in the last column of a single placeholder row when the table is empty
+     * @param emptyMessage The message, or null for no placeholder
+     */
+    public void setEmptyMessage(String emptyMessage) {
+        this.emptyMessage = emptyMessage;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows a "Loading..." placeholder row while the table has no rows yet
+     * Cleared automatically by replaceRows
+     * @param loading true while the first load is in progress
+     */
+    public void setLoading(boolean loading) {
+        if (this.loading != loading) {
+            this.loading = loading;
+            if (rows.isEmpty()) {
+                fireTableDataChanged();
+            }
+        }
+    }
+
+    /**
+     * Gets the row object at a view row
+     * @param rowIndex Row index
+     * @return Row object, or null for the placeholder row
+     */
+    public T getRow(int rowIndex) {
+        return rowIndex >= 0 && rowIndex < rows.size() ? rows.get(rowIndex) : null;
+    }
+
+    /**
+     * Checks whether the table has any real rows
+     * @return true if empty (the placeholder row may still be shown)
+     */
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Reconciles the table with a fresh list of row objects
+     * Rows that are still present are updated in place, missing rows are deleted
+     * and new rows are appended, each with its own table event
+     * Must be called on the EDT
+     * @param source The row objects (the filter is applied here)
+     */
+    public void replaceRows(List<T> source) {
+        List<T> incoming = new ArrayList<>();
+        for (T row : source) {
+            if (filter.test(row)) {
+                incoming.add(row);
+            }
+        }
+
+        // Switching to or from the placeholder row changes every row, so do it in one event
+        loading = false;
+        if (rows.isEmpty() || incoming.isEmpty()) {
+            rows.clear();
+            rows.addAll(incoming);
+            reindex(0);
+            fireTableDataChanged();
+            return;
+        }
+
+        Set<String> incomingKeys = new HashSet<>();
+        for (T row : incoming) {
+            incomingKeys.add(keyOf.apply(row));
+        }
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (!incomingKeys.contains(keyOf.apply(rows.get(i)))) {
+                removeRowAt(i);
+            }
+        }
+        for (T row : incoming) {
+            upsert(row);
+        }
+    }
+
+    /**
+     * Removes the row with a key, if present
+     * Must be called on the EDT
+     * @param key Row key
+     */
+    public void removeRow(String key) {
+        Integer index = rowIndex.get(key);
+        if (index != null) {
+            removeRowAt(index);
+        }
+    }
+
+    /**
+     * Applies a repository change; may be called from any thread
+     */
+    @Override
+    public void onChange(Change change, T item) {
+        if (item == null) {
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> onChange(change, item));
+            return;
+        }
+
+        if (change != Change.DELETED && filter.test(item)) {
+            upsert(item);
+        } else {
+            removeRow(keyOf.apply(item));
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.isEmpty() && (loading || emptyMessage != null) ? 1 : rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rows.isEmpty()) {
+            // Placeholder row
+            return columnIndex == columnNames.length - 1 ? (loading ? "Loading..." : emptyMessage) : "";
+        }
+        return columnValue.valueAt(rows.get(rowIndex), columnIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+
+    /**
+     * Updates the row with the same key in place, or appends it
+     */
+    private void upsert(T row) {
+        String key = keyOf.apply(row);
+        Integer index = rowIndex.get(key);
+        if (index != null) {
+            rows.set(index, row);
+            fireTableRowsUpdated(index, index);
+        } else if (rows.isEmpty()) {
+            rows.add(row);
+            rowIndex.put(key, 0);
+            fireTableDataChanged(); // Replaces the placeholder row
+        } else {
+            int inserted = rows.size();
+            rows.add(row);
+            rowIndex.put(key, inserted);
+            fireTableRowsInserted(inserted, inserted);
+        }
+    }
+
+    private void removeRowAt(int index) {
+        T removed = rows.remove(index);
+        rowIndex.remove(keyOf.apply(removed));
+        reindex(index);
+        if (rows.isEmpty()) {
+            fireTableDataChanged(); // Shows the placeholder row
+        } else {
+            fireTableRowsDeleted(index, index);
+        }
+    }
+
+    /**
+     * Rebuilds key positions from a row index onward
+     */
+    private void reindex(int from) {
+        if (from == 0) {
+            rowIndex.clear();
+        }
+        for (int i = from; i < rows.size(); i++) {
+            rowIndex.put(keyOf.apply(rows.get(i)), i);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package kingsman.upair;
+
+import javax.swing.JComponent;
+import javax.swing.ToolTipManager;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lightweight seat map that paints the whole cabin from a seat-state array
+ * Replaces one JButton per seat: hit testing is done from coordinates, the arrow
+ * keys move a focus cursor, and a state change repaints only that seat's rectangle
+ *
+ * Seats are grouped in blocks laid out like the original GridLayout panels
+ * (row-major, numbered from 1), e.g. block "A" with 20 seats in 2 columns
+ */
+public class SeatMapComponent extends JComponent {
+
+    // Seat states
+    public static final byte NONE = 0; // No flight selected
+    public static final byte AVAILABLE = 1;
+    public static final byte RESERVED = 2;
+    public static final byte SELECTED = 3;
+
+    private static final int GAP = 3; // Same gaps as the former GridLayout(rows, cols, 3, 3)
+    private static final Font SEAT_FONT = new Font("Arial", Font.BOLD, 10);
+    private static final Color BLOCK_BACKGROUND = Color.WHITE;
+    private static final Color AVAILABLE_TEXT = new Color(0, 128, 0); // Dark green for readability
+    private static final Color NONE_TEXT = new Color(190, 190, 190);
+    private static final Color FOCUS_COLOR = new Color(255, 153, 0);
+
+    /**
+     * A rectangular block of seats sharing a letter prefix
+     */
+    private static class SeatBlock {
+        private final String letter;
+        private final int firstIndex;
+        private final int seatCount;
+        private final int columns;
+        private final int rows;
+        private final Rectangle bounds;
+
+        private SeatBlock(String letter, int firstIndex, int seatCount, int columns, Rectangle bounds) {
+            this.letter = letter;
+            this.firstIndex = firstIndex;
+            this.seatCount = seatCount;
+            this.columns = columns;
+            this.rows = (seatCount + columns - 1) / columns;
+            this.bounds = bounds;
+        }
+    }
+
+    private final List<SeatBlock> blocks = new ArrayList<>();
+    private final Map<String, Integer> seatIndex = new HashMap<>();
+    private String[] seatLabels = new String[0];
+    private byte[] seatStates = new byte[0];
+    private String[] seatNotes = new String[0];
+    private SeatBlock[] seatBlocks = new SeatBlock[0];
+    private int focusedSeat = 0;
+    private Consumer<String> seatActivatedListener;
+
+    /**
+     * Creates an empty seat map; add blocks with addBlock
+     */
+    public SeatMapComponent() {
+        setOpaque(false);
+        setFocusable(true);
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int seat = getSeatAt(e.getX(), e.getY());
+                if (seat >= 0) {
+                    requestFocusInWindow();
+                    moveFocus(seat);
+                    activate(seat);
+                }
+            }
+        });
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                handleKey(e);
+            }
+        });
+
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                repaintSeat(focusedSeat);
+            }
+
+            @Override
+            public void focusLost(FocusEvent e) {
+                repaintSeat(focusedSeat);
+            }
+        });
+    }
+
+    /**
+     * Adds a block of seats
+     * @param letter Seat letter prefix (e.g. "A")
+     * @param seatCount Number of seats in the block
+     * @param columns Seats per row
+     * @param bounds Block bounds within this component
+     */
+    public void addBlock(String letter, int seatCount, int columns, Rectangle bounds) {
+        int firstIndex = seatLabels.length;
+        SeatBlock block = new SeatBlock(letter, firstIndex, seatCount, columns, new Rectangle(bounds));
+        blocks.add(block);
+
+        int total = firstIndex + seatCount;
+        seatLabels = Arrays.copyOf(seatLabels, total);
+        seatStates = Arrays.copyOf(seatStates, total);
+        seatNotes = Arrays.copyOf(seatNotes, total);
+        seatBlocks = Arrays.copyOf(seatBlocks, total);
+        for (int i = 0; i < seatCount; i++) {
+            String label = letter + (i + 1);
+            seatLabels[firstIndex + i] = label;
+            seatBlocks[firstIndex + i] = block;
+            seatIndex.put(label, firstIndex + i);
+        }
+
+        revalidate();
+        repaint(block.bounds);
+    }
+
+    /**
+     * Sets the listener notified when an available seat is clicked or activated with Enter/Space
+     * @param listener Receives the seat label
+     */
+    public void setSeatActivatedListener(Consumer<String> listener) {
+        this.seatActivatedListener = listener;
+    }
+
+    /**
+     * Loads the seat states for a flight in one pass
+     * @param reservedSeats Seats already booked
+     * @param selectedSeats Seats picked in the current booking
+     */
+    public void setSeatStates(Collection<String> reservedSeats, Collection<String> selectedSeats) {
+        Arrays.fill(seatStates, AVAILABLE);
+        Arrays.fill(seatNotes, null);
+        for (String label : reservedSeats) {
+            Integer index = seatIndex.get(label);
+            if (index != null) {
+                seatStates[index] = RESERVED;
+            }
+        }
+        for (String label : selectedSeats) {
+            Integer index = seatIndex.get(label);
+            if (index != null && seatStates[index] != RESERVED) {
+                seatStates[index] = SELECTED;
+            }
+        }
+        repaint();
+    }
+
+    /**
+     * Marks every seat as not applicable (no flight selected)
+     */
+    public void clearSeats() {
+        Arrays.fill(seatStates, NONE);
+        Arrays.fill(seatNotes, null);
+        repaint();
+    }
+
+    /**
+     * Changes the state of a single seat and repaints only that seat
+     * @param label Seat label (e.g. "C12")
+     * @param state New state
+     * @param note Optional tooltip note (e.g. the passenger name), or null
+     */
+    public void setSeatState(String label, byte state, String note) {
+        Integer index = seatIndex.get(label);
+        if (index == null) {
+            return;
+        }
+        seatStates[index] = state;
+        seatNotes[index] = note;
+        repaintSeat(index);
+    }
+
+    /**
+     * Gets the state of a seat
+     * @param label Seat label
+     * @return Seat state, or NONE if the label is unknown
+     */
+    public byte getSeatState(String label) {
+        Integer index = seatIndex.get(label);
+        return index != null ? seatStates[index] : NONE;
+    }
+
+    /**
+     * Finds the seat under a point
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return Seat index, or -1 if the point is not on a seat
+     */
+    public int getSeatAt(int x, int y) {
+        for (SeatBlock block : blocks) {
+            if (!block.bounds.contains(x, y)) {
+                continue;
+            }
+            int cellWidth = cellWidth(block);
+            int cellHeight = cellHeight(block);
+            int column = (x - block.bounds.x - 1) / (cellWidth + GAP);
+            int row = (y - block.bounds.y - 1) / (cellHeight + GAP);
+            if (column < 0 || row < 0 || column >= block.columns || row >= block.rows) {
+                return -1;
+            }
+            int seat = row * block.columns + column;
+            if (seat >= block.seatCount) {
+                return -1;
+            }
+            int index = block.firstIndex + seat;
+            return getSeatBounds(index).contains(x, y) ? index : -1; // Not in a gap
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the rectangle of a seat within this component
+     * @param index Seat index
+     * @return Seat bounds
+     */
+    public Rectangle getSeatBounds(int index) {
+        SeatBlock block = seatBlocks[index];
+        int seat = index - block.firstIndex;
+        int cellWidth = cellWidth(block);
+        int cellHeight = cellHeight(block);
+        int x = block.bounds.x + 1 + (seat % block.columns) * (cellWidth + GAP);
+        int y = block.bounds.y + 1 + (seat / block.columns) * (cellHeight + GAP);
+        return new Rectangle(x, y, cellWidth, cellHeight);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int index = getSeatAt(event.getX(), event.getY());
+        if (index < 0) {
+            return null;
+        }
+        switch (seatStates[index]) {
+            case AVAILABLE:
+                return "Available";
+            case RESERVED:
+                return "Reserved";
+            case SELECTED:
+                return seatNotes[index] != null ? "Selected: " + seatNotes[index] : "Selected";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Rectangle union = new Rectangle();
+        for (SeatBlock block : blocks) {
+            union = union.union(block.bounds);
+        }
+        return new Dimension(union.x + union.width, union.y + union.height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(SEAT_FONT);
+            FontMetrics metrics = g2.getFontMetrics();
+            Rectangle clip = g2.getClipBounds();
+
+            for (SeatBlock block : blocks) {
+                if (clip != null && !clip.intersects(block.bounds)) {
+                    continue;
+                }
+                g2.setColor(BLOCK_BACKGROUND);
+                g2.fillRect(block.bounds.x, block.bounds.y, block.bounds.width, block.bounds.height);
+                g2.setColor(Color.BLACK);
+                g2.drawRect(block.bounds.x, block.bounds.y, block.bounds.width - 1, block.bounds.height - 1);
+
+                for (int i = block.firstIndex; i < block.firstIndex + block.seatCount; i++) {
+                    Rectangle seat = getSeatBounds(i);
+                    if (clip == null || clip.intersects(seat)) {
+                        paintSeat(g2, metrics, i, seat);
+                    }
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Paints a single seat
+     */
+    private void paintSeat(Graphics2D g2, FontMetrics metrics, int index, Rectangle seat) {
+        Color background;
+        Color text;
+        switch (seatStates[index]) {
+            case RESERVED:
+                background = Color.RED;
+                text = Color.WHITE;
+                break;
+            case SELECTED:
+                background = Color.BLUE;
+                text = Color.WHITE;
+                break;
+            case AVAILABLE:
+                background = Color.WHITE;
+                text = AVAILABLE_TEXT;
+                break;
+            default:
+                background = Color.WHITE;
+                text = NONE_TEXT;
+                break;
+        }
+
+        g2.setColor(background);
+        g2.fillRect(seat.x, seat.y, seat.width, seat.height);
+        g2.setColor(Color.GRAY);
+        g2.drawRect(seat.x, seat.y, seat.width - 1, seat.height - 1);
+
+        String label = seatLabels[index];
+        g2.setColor(text);
+        g2.drawString(label,
+            seat.x + (seat.width - metrics.stringWidth(label)) / 2,
+            seat.y + (seat.height - metrics.getHeight()) / 2 + metrics.getAscent());
+
+        if (index == focusedSeat && isFocusOwner()) {
+            g2.setColor(FOCUS_COLOR);
+            g2.drawRect(seat.x + 1, seat.y + 1, seat.width - 3, seat.height - 3);
+        }
+    }
+
+    /**
+     * Arrow keys move the focus cursor, Enter/Space activates the focused seat
+     */
+    private void handleKey(KeyEvent e) {
+        if (seatLabels.length == 0) {
+            return;
+        }
+        SeatBlock block = seatBlocks[focusedSeat];
+        int target = focusedSeat;
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT:
+                target = Math.max(0, focusedSeat - 1);
+                break;
+            case KeyEvent.VK_RIGHT:
+                target = Math.min(seatLabels.length - 1, focusedSeat + 1);
+                break;
+            case KeyEvent.VK_UP:
+                if (focusedSeat - block.columns >= block.firstIndex) {
+                    target = focusedSeat - block.columns;
+                }
+                break;
+            case KeyEvent.VK_DOWN:
+                if (focusedSeat + block.columns < block.firstIndex + block.seatCount) {
+                    target = focusedSeat + block.columns;
+                }
+                break;
+            case KeyEvent.VK_ENTER:
+            case KeyEvent.VK_SPACE:
+                activate(focusedSeat);
+                e.consume();
+                return;
+            default:
+                return;
+        }
+        e.consume();
+        moveFocus(target);
+    }
+
+    private void moveFocus(int target) {
+        if (target == focusedSeat) {
+            return;
+        }
+        int previous = focusedSeat;
+        focusedSeat = target;
+        repaintSeat(previous);
+        repaintSeat(target);
+        scrollRectToVisible(getSeatBounds(target));
+    }
+
+    private void activate(int index) {
+        if (seatStates[index] == AVAILABLE && seatActivatedListener != null) {
+            seatActivatedListener.accept(seatLabels[index]);
+        }
+    }
+
+    private void repaintSeat(int index) {
+        if (index >= 0 && index < seatLabels.length) {
+            repaint(getSeatBounds(index));
+        }
+    }
+
+    private static int cellWidth(SeatBlock block) {
+        return (block.bounds.width - 2 - (block.columns - 1) * GAP) / block.columns;
+    }
+
+    private static int cellHeight(SeatBlock block) {
+        return (block.bounds.height - 2 - (block.rows - 1) * GAP) / block.rows;
+    }
+}
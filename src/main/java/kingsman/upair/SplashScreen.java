@@ -16,13 +16,35 @@ public class SplashScreen extends javax.swing.JFrame {
     public SplashScreen() {
         initComponents();
         setLocationRelativeTo(null);
+        initializeProgressBar();
 
-        javax.swing.Timer timer = new javax.swing.Timer(5000, e -> {
-            new LogInFrame().setVisible(true);
-            dispose();
-        });
-        timer.setRepeats(false);
-        timer.start();
+        // Continue to login as soon as the warm-up pipeline finishes
+        kingsman.upair.service.WarmUpService.start(this::showProgress)
+            .thenRun(() -> {
+                new LogInFrame().setVisible(true);
+                dispose();
+            });
+    }
+
+    /**
+     * Adds the warm-up progress bar along the bottom edge of the splash image
+     */
+    private void initializeProgressBar() {
+        progressBar = new javax.swing.JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Starting...");
+        progressBar.setBorderPainted(false);
+        // Index 0 paints above the splash image
+        getContentPane().add(progressBar, new org.netbeans.lib.awtextra.AbsoluteConstraints(0, 384, 700, 16), 0);
+    }
+
+    /**
+     * Shows warm-up progress (called on the EDT)
+     */
+    private void showProgress(int completedSteps, int totalSteps, String stepName) {
+        progressBar.setMaximum(totalSteps);
+        progressBar.setValue(completedSteps);
+        progressBar.setString(stepName + "...");
     }
 
     /**
@@ -84,4 +106,5 @@ public class SplashScreen extends javax.swing.JFrame {
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JLabel SplashScreenImage;
     // End of variables declaration//GEN-END:variables
+    private javax.swing.JProgressBar progressBar;
 }
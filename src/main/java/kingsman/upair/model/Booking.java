@@ -2,7 +2,9 @@ package kingsman.upair.model;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import kingsman.upair.utils.Money;
 
 /**
  * Model class representing a Passenger Booking
@@ -24,11 +26,13 @@ public class Booking {
     private int numberOfMinors;
     private List<String> reservedSeats; // List of seat numbers (e.g., "A1", "B5")
     private List<String> passengerNames; // Names corresponding to seats
-    private double totalPrice;
+    private long totalPrice; // In centavos (see Money)
     private String status; // "Pending", "Confirmed", "Cancelled"
     private String voucherCode; // Optional voucher
     private String seatPreference; // "Standard", "Front", "Business"
     private String paymentType; // "Cash", "Credit Card", "Debit Card", "PayPal", etc.
+    private String fareBucket; // Fare bucket the seats were sold from ("Promo", "Regular", "Flex")
+    private String returnFareBucket; // Fare bucket of the return leg (round trips only)
     
     // Default constructor
     public Booking() {
@@ -40,7 +44,7 @@ public class Booking {
                    LocalDate departureDate, LocalTime departureTime,
                    int numberOfAdults, int numberOfMinors,
                    List<String> reservedSeats, List<String> passengerNames,
-                   double totalPrice, String status) {
+                   long totalPrice, String status) {
         this.bookingId = bookingId;
         this.passengerUsername = passengerUsername;
         this.tripType = tripType;
@@ -57,6 +61,24 @@ public class Booking {
         this.status = status;
     }
     
+    // Copy constructor, for changing a cached booking only once the change is saved
+    public Booking(Booking other) {
+        this(other.bookingId, other.passengerUsername, other.tripType, other.flightCode,
+             other.origin, other.destination, other.departureDate, other.departureTime,
+             other.numberOfAdults, other.numberOfMinors,
+             other.reservedSeats != null ? new ArrayList<>(other.reservedSeats) : null,
+             other.passengerNames != null ? new ArrayList<>(other.passengerNames) : null,
+             other.totalPrice, other.status);
+        this.returnFlightCode = other.returnFlightCode;
+        this.returnDate = other.returnDate;
+        this.returnTime = other.returnTime;
+        this.voucherCode = other.voucherCode;
+        this.seatPreference = other.seatPreference;
+        this.paymentType = other.paymentType;
+        this.fareBucket = other.fareBucket;
+        this.returnFareBucket = other.returnFareBucket;
+    }
+    
     // Getters and Setters
     public String getBookingId() {
         return bookingId;
@@ -178,11 +200,17 @@ public class Booking {
         this.passengerNames = passengerNames;
     }
     
-    public double getTotalPrice() {
+    /**
+     * Gets the total price in centavos
+     */
+    public long getTotalPrice() {
         return totalPrice;
     }
     
-    public void setTotalPrice(double totalPrice) {
+    /**
+     * Sets the total price in centavos
+     */
+    public void setTotalPrice(long totalPrice) {
         this.totalPrice = totalPrice;
     }
     
@@ -218,6 +246,22 @@ public class Booking {
         this.paymentType = paymentType;
     }
     
+    public String getFareBucket() {
+        return fareBucket;
+    }
+    
+    public void setFareBucket(String fareBucket) {
+        this.fareBucket = fareBucket;
+    }
+    
+    public String getReturnFareBucket() {
+        return returnFareBucket;
+    }
+    
+    public void setReturnFareBucket(String returnFareBucket) {
+        this.returnFareBucket = returnFareBucket;
+    }
+    
     /**
      * Validates if booking information is valid
      * @return true if valid, false otherwise
@@ -253,8 +297,10 @@ public class Booking {
                 ", departureTime=" + departureTime +
                 ", numberOfAdults=" + numberOfAdults +
                 ", numberOfMinors=" + numberOfMinors +
-                ", totalPrice=" + totalPrice +
+                ", totalPrice=" + Money.toPlainString(totalPrice) +
                 ", status='" + status + '\'' +
+                ", fareBucket='" + fareBucket + '\'' +
+                ", returnFareBucket='" + returnFareBucket + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,123 @@
+package kingsman.upair.model;
+
+/**
+ * Read model joining a Booking with its passenger's display name
+ * All table labels are computed once when the view is built, so booking tables
+ * are a straight projection of these fields
+ * Views are immutable snapshots; a changed booking or passenger produces a new view
+ */
+public class BookingView {
+    private final String bookingId;
+    private final String passengerUsername;
+    private final String passengerName; // First and last name, or the username if no details are stored
+    private final String flightCode;
+    private final String routeLabel; // Origin and destination joined by an arrow
+    private final String tripType;
+    private final String departureDateLabel;
+    private final int passengerCount;
+    private final String status;
+    private final String manageStatusLabel; // Status as shown in Manage Bookings
+    private final String paymentLabel;
+    private final boolean pendingAction; // Cash payment or cancel request awaiting approval
+    private final boolean processed; // Confirmed or cancelled
+
+    /**
+     * Builds the view of a booking
+     * @param booking The booking
+     * @param passenger The booking's passenger details (null if none are stored)
+     */
+    public BookingView(Booking booking, Passenger passenger) {
+        String paymentType = booking.getPaymentType() != null ? booking.getPaymentType() : "";
+        String bookingStatus = booking.getStatus() != null ? booking.getStatus() : "";
+        boolean cash = paymentType.equalsIgnoreCase("Cash");
+        boolean cancelRequest = bookingStatus.equalsIgnoreCase("Cancel Book");
+
+        this.bookingId = booking.getBookingId();
+        this.passengerUsername = booking.getPassengerUsername();
+        this.passengerName = passenger != null
+            ? passenger.getFirstName() + " " + passenger.getLastName()
+            : booking.getPassengerUsername();
+        this.flightCode = booking.getFlightCode();
+        this.routeLabel = booking.getOrigin() + " \u2192 " + booking.getDestination();
+        this.tripType = booking.getTripType();
+        this.departureDateLabel = booking.getDepartureDate() != null ? booking.getDepartureDate().toString() : "";
+        this.passengerCount = booking.getNumberOfAdults() + booking.getNumberOfMinors();
+        this.status = bookingStatus;
+        this.manageStatusLabel = cash ? "Pay at the counter" : cancelRequest ? "Cancel book" : bookingStatus;
+        this.paymentLabel = paymentType;
+        // Cash payments (to be paid at counter) that are not cancelled, or online cancel requests
+        this.pendingAction = cash ? !bookingStatus.equalsIgnoreCase("Cancelled") : cancelRequest;
+        this.processed = bookingStatus.equalsIgnoreCase("Confirmed") || bookingStatus.equalsIgnoreCase("Cancelled");
+    }
+
+    // Getters
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public String getPassengerUsername() {
+        return passengerUsername;
+    }
+
+    public String getPassengerName() {
+        return passengerName;
+    }
+
+    public String getFlightCode() {
+        return flightCode;
+    }
+
+    public String getRouteLabel() {
+        return routeLabel;
+    }
+
+    public String getTripType() {
+        return tripType;
+    }
+
+    public String getDepartureDateLabel() {
+        return departureDateLabel;
+    }
+
+    public int getPassengerCount() {
+        return passengerCount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getManageStatusLabel() {
+        return manageStatusLabel;
+    }
+
+    public String getPaymentLabel() {
+        return paymentLabel;
+    }
+
+    /**
+     * Checks if the booking belongs in the Manage Bookings table
+     * @return true for cash payments and cancel requests awaiting approval
+     */
+    public boolean isPendingAction() {
+        return pendingAction;
+    }
+
+    /**
+     * Checks if the booking belongs in the Approved Bookings History
+     * @return true if confirmed or cancelled
+     */
+    public boolean isProcessed() {
+        return processed;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingView{" +
+                "bookingId='" + bookingId + '\'' +
+                ", passengerName='" + passengerName + '\'' +
+                ", route='" + routeLabel + '\'' +
+                ", status='" + manageStatusLabel + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package kingsman.upair.model;
+
+/**
+ * Model class representing a fare bucket (fare class inventory) of a Schedule
+ * Booking limits are nested: a bucket stays open while the total seats sold
+ * on the schedule plus the requested seats do not exceed its booking limit
+ * Follows OOP principles with encapsulation
+ */
+public class FareBucket {
+    private String scheduleId;
+    private String bucketCode; // "Promo", "Regular", "Flex"
+    private int bookingLimit; // Nested limit on total seats sold on the schedule
+    private double fareMultiplier; // Applied to the flight's base fare
+    
+    // Default constructor
+    public FareBucket() {
+    }
+    
+    // Parameterized constructor
+    public FareBucket(String scheduleId, String bucketCode, int bookingLimit, double fareMultiplier) {
+        this.scheduleId = scheduleId;
+        this.bucketCode = bucketCode;
+        this.bookingLimit = bookingLimit;
+        this.fareMultiplier = fareMultiplier;
+    }
+    
+    // Getters and Setters
+    public String getScheduleId() {
+        return scheduleId;
+    }
+    
+    public void setScheduleId(String scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+    
+    public String getBucketCode() {
+        return bucketCode;
+    }
+    
+    public void setBucketCode(String bucketCode) {
+        this.bucketCode = bucketCode;
+    }
+    
+    public int getBookingLimit() {
+        return bookingLimit;
+    }
+    
+    public void setBookingLimit(int bookingLimit) {
+        this.bookingLimit = bookingLimit;
+    }
+    
+    public double getFareMultiplier() {
+        return fareMultiplier;
+    }
+    
+    public void setFareMultiplier(double fareMultiplier) {
+        this.fareMultiplier = fareMultiplier;
+    }
+    
+    /**
+     * Validates if fare bucket information is valid
+     * @return true if valid, false otherwise
+     */
+    public boolean isValid() {
+        return scheduleId != null && !scheduleId.trim().isEmpty() &&
+               bucketCode != null && !bucketCode.trim().isEmpty() &&
+               bookingLimit >= 0 &&
+               fareMultiplier > 0;
+    }
+    
+    @Override
+    public String toString() {
+        return "FareBucket{" +
+                "scheduleId='" + scheduleId + '\'' +
+                ", bucketCode='" + bucketCode + '\'' +
+                ", bookingLimit=" + bookingLimit +
+                ", fareMultiplier=" + fareMultiplier +
+                '}';
+    }
+}
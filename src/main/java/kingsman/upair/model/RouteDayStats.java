@@ -0,0 +1,102 @@
+package kingsman.upair.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read model of booking aggregates for one route, airline and departure date
+ * Snapshots are immutable; figures cover the outbound leg of each booking
+ */
+public class RouteDayStats {
+    private final String origin;
+    private final String destination;
+    private final String airline;
+    private final LocalDate departureDate;
+    private final long revenue; // Confirmed bookings, in centavos
+    private final int adults; // Bookings that are not cancelled
+    private final int minors; // Bookings that are not cancelled
+    private final int confirmedCount;
+    private final int cancelledCount;
+    private final int seatCapacity; // Sum over the flights booked on this route and date
+
+    public RouteDayStats(String origin, String destination, String airline, LocalDate departureDate,
+                         long revenue, int adults, int minors, int confirmedCount, int cancelledCount,
+                         int seatCapacity) {
+        this.origin = origin;
+        this.destination = destination;
+        this.airline = airline;
+        this.departureDate = departureDate;
+        this.revenue = revenue;
+        this.adults = adults;
+        this.minors = minors;
+        this.confirmedCount = confirmedCount;
+        this.cancelledCount = cancelledCount;
+        this.seatCapacity = seatCapacity;
+    }
+
+    // Getters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public int getAdults() {
+        return adults;
+    }
+
+    public int getMinors() {
+        return minors;
+    }
+
+    public int getPassengerCount() {
+        return adults + minors;
+    }
+
+    public int getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public int getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public int getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    /**
+     * Gets the share of seats taken by passengers of bookings that are not cancelled
+     * @return Load factor from 0.0 (1.0 = full), or 0.0 if the capacity is unknown
+     */
+    public double getLoadFactor() {
+        return seatCapacity > 0 ? (double) getPassengerCount() / seatCapacity : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteDayStats{" +
+                "route='" + origin + " \u2192 " + destination + '\'' +
+                ", airline='" + airline + '\'' +
+                ", departureDate=" + departureDate +
+                ", revenue=" + revenue +
+                ", passengers=" + getPassengerCount() +
+                ", confirmed=" + confirmedCount +
+                ", cancelled=" + cancelledCount +
+                ", seatCapacity=" + seatCapacity +
+                '}';
+    }
+}
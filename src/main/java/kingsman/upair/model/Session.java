@@ -0,0 +1,82 @@
+package kingsman.upair.model;
+
+/**
+ * Model class representing a logged-in session
+ * Identified by an opaque token; the username and role are fixed when the
+ * session is issued, and only the last access time changes afterwards
+ */
+public class Session {
+
+    /**
+     * Who the session was issued to
+     */
+    public enum Role {
+        ADMIN,
+        PASSENGER
+    }
+
+    private final String token;
+    private final String username;
+    private final Role role;
+    private final long createdMillis;
+    private volatile long lastAccessMillis;
+    private volatile boolean ended; // Logged out or expired
+
+    /**
+     * Creates a session
+     * @param token The opaque session token
+     * @param username The user's username
+     * @param role The user's role
+     * @param createdMillis Issue time (epoch milliseconds)
+     */
+    public Session(String token, String username, Role role, long createdMillis) {
+        this.token = token;
+        this.username = username;
+        this.role = role;
+        this.createdMillis = createdMillis;
+        this.lastAccessMillis = createdMillis;
+    }
+
+    // Getters
+    public String getToken() {
+        return token;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public void setLastAccessMillis(long lastAccessMillis) {
+        this.lastAccessMillis = lastAccessMillis;
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    public void setEnded(boolean ended) {
+        this.ended = ended;
+    }
+
+    @Override
+    public String toString() {
+        // The token is a credential and is deliberately left out
+        return "Session{" +
+                "username='" + username + '\'' +
+                ", role=" + role +
+                ", createdMillis=" + createdMillis +
+                '}';
+    }
+}
@@ -1,9 +1,12 @@
 package kingsman.upair.repository;
 
 import kingsman.upair.model.Admin;
-import kingsman.upair.utils.PasswordEncryption;
+import kingsman.upair.utils.PasswordHasher;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
 import java.util.*;
 
 /**
@@ -14,8 +17,33 @@ public class AdminRepository {
     
     private static final String ADMIN_FILE = "admin_data.txt";
     private static final String PIN_FILE = "administration_pin.txt";
+    private static final String PIN_JOURNAL_FILE = "administration_pin_consumed.txt";
     private static final String DELIMITER = "|";
-    
+
+    // How often a login may check the admin file for changes
+    private static final long CREDENTIAL_CHECK_INTERVAL_MS = 1000L;
+
+    // In-memory admin records by lowercase username; the password field holds the
+    // stored record (see PasswordHasher), never the plain password
+    private static final Map<String, Admin> credentialCache = new LinkedHashMap<>();
+    private static String unknownUserRecord; // Verified against for unknown usernames
+    private static boolean credentialsLoaded = false;
+    private static long credentialFileModified = 0L;
+    private static long credentialFileLength = -1L;
+    private static long lastCredentialCheck = 0L;
+
+    // PIN pool policy
+    private static final int PIN_BATCH_SIZE = 8;
+    private static final int PIN_LOW_WATERMARK = 2;
+    private static final int PIN_COMPACTION_THRESHOLD = 4;
+
+    // PINs not yet consumed, in issue order (uppercase)
+    private static final Set<String> availablePins = new LinkedHashSet<>();
+    private static int consumedSinceCompaction = 0;
+    private static boolean pinsLoaded = false;
+    // Set while a due PIN batch could not be saved
+    private static boolean pinBatchFailed = false;
+
     /**
      * Initializes admin data file with default credentials if it doesn't exist
      */
@@ -24,8 +52,8 @@ public class AdminRepository {
         if (!file.exists()) {
             try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
                 // Default admin credentials
-                String encryptedPassword = PasswordEncryption.encrypt("admin@123");
-                writer.println(String.join(DELIMITER, "admin", encryptedPassword));
+                String passwordHash = PasswordHasher.hash("admin@123");
+                writer.println(String.join(DELIMITER, "admin", passwordHash));
             } catch (IOException e) {
                 System.err.println("Error initializing admin data: " + e.getMessage());
             }
@@ -40,8 +68,8 @@ public class AdminRepository {
         if (!file.exists()) {
             try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
                 // Generate 8 random 6-character pins
-                Random random = new Random();
-                for (int i = 0; i < 8; i++) {
+                Random random = new SecureRandom();
+                for (int i = 0; i < PIN_BATCH_SIZE; i++) {
                     String pin = generatePin(random);
                     writer.println(pin);
                 }
@@ -65,16 +93,77 @@ public class AdminRepository {
     
     /**
      * Validates admin credentials
+     * Checks against the cached admin records; the admin file is only read
+     * again when it has changed on disk. Legacy records are upgraded to
+     * salted hashes on a successful login
      * @param username The username to check
      * @param password The password to check
      * @return true if credentials are valid, false otherwise
      */
     public static boolean validateAdmin(String username, String password) {
+        if (username == null || password == null) {
+            return false;
+        }
+
+        Admin admin;
+        String unknownRecord;
+        synchronized (AdminRepository.class) {
+            refreshCredentials();
+            admin = credentialCache.get(username.trim().toLowerCase());
+            if (unknownUserRecord == null) {
+                unknownUserRecord = PasswordHasher.hash(UUID.randomUUID().toString());
+            }
+            unknownRecord = unknownUserRecord;
+        }
+
+        // Unknown usernames are checked against a dummy record so they take as long as a wrong password
+        String stored = admin != null ? admin.getPassword() : unknownRecord;
+        if (!PasswordHasher.verify(password, stored) || admin == null) {
+            return false;
+        }
+
+        if (PasswordHasher.needsRehash(stored)) {
+            upgradeAdminRecord(admin, stored, PasswordHasher.hash(password));
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a username belongs to an admin, without verifying a password
+     * Lets the login screen skip the admin hash for passenger usernames
+     * @param username The username to check
+     * @return true if an admin record exists for the username
+     */
+    public static synchronized boolean isAdminUsername(String username) {
+        if (username == null) {
+            return false;
+        }
+        refreshCredentials();
+        return credentialCache.containsKey(username.trim().toLowerCase());
+    }
+
+    /**
+     * Loads the credential cache, or reloads it if the admin file changed
+     * The file is checked at most once per CREDENTIAL_CHECK_INTERVAL_MS
+     */
+    private static void refreshCredentials() {
+        long now = System.currentTimeMillis();
+        if (credentialsLoaded && now - lastCredentialCheck < CREDENTIAL_CHECK_INTERVAL_MS) {
+            return;
+        }
+        lastCredentialCheck = now;
+
         File file = new File(ADMIN_FILE);
         if (!file.exists()) {
             initializeAdminData();
         }
-        
+        long modified = file.lastModified();
+        long length = file.length();
+        if (credentialsLoaded && modified == credentialFileModified && length == credentialFileLength) {
+            return;
+        }
+
+        Map<String, Admin> loaded = new LinkedHashMap<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -83,94 +172,229 @@ public class AdminRepository {
                 }
                 String[] parts = line.split("\\" + DELIMITER);
                 if (parts.length >= 2) {
-                    String fileUsername = parts[0].trim();
-                    String encryptedPassword = parts[1].trim();
-                    String decryptedPassword = PasswordEncryption.decrypt(encryptedPassword);
-                    
-                    if (fileUsername.equalsIgnoreCase(username) && decryptedPassword.equals(password)) {
-                        return true;
-                    }
+                    Admin admin = new Admin(parts[0].trim(), parts[1].trim());
+                    // First entry wins, as with the previous line-by-line scan
+                    loaded.putIfAbsent(admin.getUsername().toLowerCase(), admin);
                 }
             }
         } catch (IOException e) {
-            System.err.println("Error validating admin: " + e.getMessage());
+            System.err.println("Error loading admin credentials: " + e.getMessage());
+            return; // Keep the previous cache
         }
-        
-        return false;
+
+        credentialCache.clear();
+        credentialCache.putAll(loaded);
+        credentialFileModified = modified;
+        credentialFileLength = length;
+        credentialsLoaded = true;
     }
-    
+
+    /**
+     * Replaces an admin's stored record and rewrites the admin file
+     * Skipped if the record changed while the password was being hashed
+     */
+    private static synchronized void upgradeAdminRecord(Admin admin, String previousRecord, String passwordHash) {
+        if (credentialCache.get(admin.getUsername().toLowerCase()) != admin
+                || !previousRecord.equals(admin.getPassword())) {
+            return;
+        }
+        admin.setPassword(passwordHash);
+
+        // Rewrite the admin records aside and move them into place, so a failed
+        // write leaves the old file intact
+        File file = new File(ADMIN_FILE);
+        File temp = new File(ADMIN_FILE + ".tmp");
+        try {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(temp))) {
+                for (Admin cached : credentialCache.values()) {
+                    writer.println(String.join(DELIMITER, cached.getUsername(), cached.getPassword()));
+                }
+                if (writer.checkError()) {
+                    throw new IOException("write failed");
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error updating admin data: " + e.getMessage());
+            temp.delete();
+            admin.setPassword(previousRecord);
+            return;
+        }
+        // Our own write, not an outside change
+        credentialFileModified = file.lastModified();
+        credentialFileLength = file.length();
+    }
+
+    /**
+     * Clears the credential and PIN caches so they are reloaded on next use
+     */
+    public static synchronized void clearCache() {
+        credentialCache.clear();
+        credentialsLoaded = false;
+        availablePins.clear();
+        pinsLoaded = false;
+    }
+
     /**
      * Validates and consumes an administration PIN
-     * If PIN is valid, it is removed from the file (like Google backup codes)
+     * If PIN is valid, it is removed from the pool (like Google backup codes)
+     * and recorded with one line appended to the consumed-PIN journal
      * @param pin The PIN to validate
      * @return true if PIN is valid and consumed, false otherwise
      */
-    public static boolean validateAndConsumePin(String pin) {
+    public static synchronized boolean validateAndConsumePin(String pin) {
+        if (pin == null || !loadPins()) {
+            return false; // No PIN is accepted while the pool cannot be read
+        }
+
+        String normalized = pin.trim().toUpperCase();
+        if (!availablePins.remove(normalized)) {
+            return false;
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(PIN_JOURNAL_FILE, true))) {
+            writer.println(normalized);
+            if (writer.checkError()) {
+                throw new IOException("write failed");
+            }
+        } catch (IOException e) {
+            System.err.println("Error recording consumed pin: " + e.getMessage());
+            availablePins.add(normalized); // Not recorded, so not consumed
+            return false;
+        }
+        consumedSinceCompaction++;
+
+        if (availablePins.size() < PIN_LOW_WATERMARK) {
+            // Running low: issue a fresh batch along with the compaction
+            // The batch only joins the pool once it is on disk, so every usable PIN survives a restart
+            Random random = new SecureRandom();
+            Set<String> pool = new LinkedHashSet<>(availablePins);
+            int target = pool.size() + PIN_BATCH_SIZE;
+            while (pool.size() < target) {
+                pool.add(generatePin(random));
+            }
+            pinBatchFailed = !compactPins(pool);
+            if (!pinBatchFailed) {
+                availablePins.clear();
+                availablePins.addAll(pool);
+            }
+        } else if (consumedSinceCompaction >= PIN_COMPACTION_THRESHOLD) {
+            compactPins(availablePins);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the PIN pool ran low but the fresh batch could not be saved
+     * The batch is retried on the next PIN use
+     * @return true if no new PINs were issued
+     */
+    public static synchronized boolean isPinBatchFailed() {
+        return pinBatchFailed;
+    }
+
+    /**
+     * Gets the number of remaining PINs
+     * @return Number of remaining PINs
+     */
+    public static synchronized int getRemainingPinCount() {
+        loadPins();
+        return availablePins.size();
+    }
+
+    /**
+     * Loads the PIN pool: the PINs in the PIN file minus those in the consumed journal
+     * The pool is only filled once both files are read, so a journal read error
+     * cannot bring consumed PINs back
+     * @return true if the pool is loaded, false if it could not be read (and is left empty)
+     */
+    private static boolean loadPins() {
+        if (pinsLoaded) {
+            return true;
+        }
+
         File file = new File(PIN_FILE);
         if (!file.exists()) {
             initializeAdminPins();
-            return false; // New file created, no pins available yet
         }
-        
-        List<String> pins = new ArrayList<>();
-        boolean pinFound = false;
-        
-        // Read all pins
+
+        availablePins.clear();
+        Set<String> pool = new LinkedHashSet<>();
+        int consumed = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                String filePin = line.trim();
-                if (filePin.equalsIgnoreCase(pin)) {
-                    pinFound = true;
-                    // Don't add this pin to the list (effectively removing it)
-                } else {
-                    pins.add(filePin);
+                if (!line.trim().isEmpty()) {
+                    pool.add(line.trim().toUpperCase());
                 }
             }
         } catch (IOException e) {
             System.err.println("Error reading pins: " + e.getMessage());
             return false;
         }
-        
-        // If PIN was found, write back the remaining pins
-        if (pinFound) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
-                for (String remainingPin : pins) {
-                    writer.println(remainingPin);
+
+        File journal = new File(PIN_JOURNAL_FILE);
+        if (journal.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        pool.remove(line.trim().toUpperCase());
+                        consumed++;
+                    }
                 }
             } catch (IOException e) {
-                System.err.println("Error updating pins: " + e.getMessage());
+                System.err.println("Error reading consumed pins: " + e.getMessage());
                 return false;
             }
-            return true;
         }
-        
-        return false;
+
+        availablePins.addAll(pool);
+        consumedSinceCompaction = consumed;
+        pinsLoaded = true;
+        return true;
     }
-    
+
     /**
-     * Gets the number of remaining PINs
-     * @return Number of remaining PINs
+     * Rewrites the PIN file with the given pool and empties the journal
+     * The new PIN file is written aside and moved into place, so a crash leaves
+     * either the old file and journal or the new file
+     * @param pool The PINs the file should hold
+     * @return true if the PIN file now holds the pool
      */
-    public static int getRemainingPinCount() {
+    private static boolean compactPins(Set<String> pool) {
         File file = new File(PIN_FILE);
-        if (!file.exists()) {
-            return 0;
-        }
-        
-        int count = 0;
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            while (reader.readLine() != null) {
-                count++;
+        File temp = new File(PIN_FILE + ".tmp");
+        try (PrintWriter writer = new PrintWriter(new FileWriter(temp))) {
+            for (String remainingPin : pool) {
+                writer.println(remainingPin);
             }
+            if (writer.checkError()) {
+                throw new IOException("write failed");
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting pins: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error compacting pins: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+
+        try {
+            // Journal entries now refer to PINs no longer in the file, so it can be emptied
+            new FileWriter(PIN_JOURNAL_FILE).close();
+            consumedSinceCompaction = 0;
         } catch (IOException e) {
-            System.err.println("Error counting pins: " + e.getMessage());
+            // Harmless: the leftover entries match nothing in the new file
+            System.err.println("Error emptying consumed pin journal: " + e.getMessage());
         }
-        
-        return count;
+        return true;
     }
 }
 
@@ -0,0 +1,253 @@
+package kingsman.upair.repository;
+
+import kingsman.upair.model.Booking;
+import kingsman.upair.model.Flight;
+import kingsman.upair.model.RouteDayStats;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Repository class for materialised booking analytics
+ * Keeps revenue, passenger and status aggregates per route, airline and
+ * departure date, plus overall revenue and passengers per date, and updates
+ * them on every booking change instead of scanning all bookings for a report.
+ * Each booking's contribution is remembered so a change retracts the old
+ * figures and adds the new ones (as with the occupancy index in BookingRepository)
+ * Aggregates are derived data and are not persisted
+ */
+public class BookingAnalyticsRepository {
+
+    private static final String DELIMITER = "|";
+
+    // In-memory aggregates by route/airline/date key
+    private static final Map<String, Aggregate> aggregates = new HashMap<>();
+    // What each booking currently adds to the aggregates, by booking ID
+    private static final Map<String, Contribution> contributions = new HashMap<>();
+    // Roll-ups for the dashboard
+    private static final Map<LocalDate, Integer> passengersByDate = new HashMap<>();
+    private static long totalRevenue = 0L;
+    private static boolean cacheLoaded = false;
+
+    static {
+        BookingRepository.addListener(BookingAnalyticsRepository::onBookingChange);
+    }
+
+    /**
+     * Running totals for one route, airline and date
+     */
+    private static class Aggregate {
+        final String origin;
+        final String destination;
+        final String airline;
+        final LocalDate departureDate;
+        long revenue;
+        int adults;
+        int minors;
+        int confirmedCount;
+        int cancelledCount;
+        int bookingCount;
+        // Flight code -> bookings on it, so capacity counts each flight once
+        final Map<String, Integer> flightCodes = new HashMap<>();
+
+        Aggregate(String origin, String destination, String airline, LocalDate departureDate) {
+            this.origin = origin;
+            this.destination = destination;
+            this.airline = airline;
+            this.departureDate = departureDate;
+        }
+    }
+
+    /**
+     * The figures a single booking adds
+     */
+    private static class Contribution {
+        final String key;
+        final String flightCode;
+        final LocalDate departureDate;
+        final long revenue;
+        final int adults;
+        final int minors;
+        final boolean confirmed;
+        final boolean cancelled;
+
+        Contribution(String key, Booking booking) {
+            String status = booking.getStatus() != null ? booking.getStatus() : "";
+            this.key = key;
+            this.flightCode = booking.getFlightCode();
+            this.departureDate = booking.getDepartureDate();
+            this.confirmed = status.equalsIgnoreCase("Confirmed");
+            this.cancelled = status.equalsIgnoreCase("Cancelled");
+            this.revenue = confirmed ? booking.getTotalPrice() : 0L;
+            this.adults = cancelled ? 0 : booking.getNumberOfAdults();
+            this.minors = cancelled ? 0 : booking.getNumberOfMinors();
+        }
+    }
+
+    /**
+     * Builds the aggregates from the booking cache
+     */
+    private static synchronized void loadCache() {
+        if (cacheLoaded) {
+            return;
+        }
+
+        for (Booking booking : BookingRepository.getAllBookings()) {
+            apply(booking);
+        }
+        cacheLoaded = true;
+    }
+
+    /**
+     * Gets the aggregates of one route, airline and date
+     * @param origin Origin airport
+     * @param destination Destination airport
+     * @param airline Airline
+     * @param departureDate Departure date
+     * @return Snapshot of the aggregates, or null if nothing is booked
+     */
+    public static synchronized RouteDayStats getStats(String origin, String destination, String airline,
+                                                      LocalDate departureDate) {
+        loadCache();
+        Aggregate aggregate = aggregates.get(aggregateKey(origin, destination, airline, departureDate));
+        return aggregate != null ? snapshot(aggregate) : null;
+    }
+
+    /**
+     * Gets the aggregates of every route, airline and date with bookings
+     * @return List of snapshots
+     */
+    public static synchronized List<RouteDayStats> getAllStats() {
+        loadCache();
+        List<RouteDayStats> stats = new ArrayList<>(aggregates.size());
+        for (Aggregate aggregate : aggregates.values()) {
+            stats.add(snapshot(aggregate));
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the revenue of all confirmed bookings
+     * @return Total revenue in centavos
+     */
+    public static synchronized long getTotalRevenue() {
+        loadCache();
+        return totalRevenue;
+    }
+
+    /**
+     * Gets the number of passengers departing on a date
+     * @param date The departure date
+     * @return Adults and minors of bookings that are not cancelled
+     */
+    public static synchronized int getPassengerCount(LocalDate date) {
+        loadCache();
+        return passengersByDate.getOrDefault(date, 0);
+    }
+
+    /**
+     * Updates the aggregates for a changed booking
+     */
+    private static synchronized void onBookingChange(RepositoryListener.Change change, Booking booking) {
+        if (!cacheLoaded) {
+            return; // Built from the repository on first use
+        }
+        if (change == RepositoryListener.Change.DELETED) {
+            retract(booking.getBookingId());
+        } else {
+            apply(booking);
+        }
+    }
+
+    /**
+     * Replaces a booking's contribution with its current state
+     */
+    private static void apply(Booking booking) {
+        retract(booking.getBookingId());
+        if (booking.getDepartureDate() == null) {
+            return;
+        }
+
+        Flight flight = booking.getFlightCode() != null ? FlightRepository.getFlightByCode(booking.getFlightCode()) : null;
+        String airline = flight != null ? flight.getAirline() : "";
+        String key = aggregateKey(booking.getOrigin(), booking.getDestination(), airline, booking.getDepartureDate());
+        Contribution contribution = new Contribution(key, booking);
+        contributions.put(booking.getBookingId(), contribution);
+
+        Aggregate aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate(
+            booking.getOrigin(), booking.getDestination(), airline, booking.getDepartureDate()));
+        add(aggregate, contribution, 1);
+    }
+
+    /**
+     * Removes a booking's contribution, dropping aggregates left with no bookings
+     */
+    private static void retract(String bookingId) {
+        Contribution previous = contributions.remove(bookingId);
+        if (previous == null) {
+            return;
+        }
+        Aggregate aggregate = aggregates.get(previous.key);
+        if (aggregate != null) {
+            add(aggregate, previous, -1);
+            if (aggregate.bookingCount == 0) {
+                aggregates.remove(previous.key);
+            }
+        }
+    }
+
+    /**
+     * Adds (sign 1) or subtracts (sign -1) a contribution
+     */
+    private static void add(Aggregate aggregate, Contribution contribution, int sign) {
+        aggregate.revenue += sign * contribution.revenue;
+        aggregate.adults += sign * contribution.adults;
+        aggregate.minors += sign * contribution.minors;
+        aggregate.confirmedCount += contribution.confirmed ? sign : 0;
+        aggregate.cancelledCount += contribution.cancelled ? sign : 0;
+        aggregate.bookingCount += sign;
+        if (contribution.flightCode != null) {
+            aggregate.flightCodes.merge(contribution.flightCode, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        totalRevenue += sign * contribution.revenue;
+        int passengers = sign * (contribution.adults + contribution.minors);
+        if (passengers != 0) {
+            passengersByDate.merge(contribution.departureDate, passengers, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Copies an aggregate; capacity is read from the flights so capacity edits apply at once
+     */
+    private static RouteDayStats snapshot(Aggregate aggregate) {
+        int capacity = 0;
+        for (String flightCode : aggregate.flightCodes.keySet()) {
+            Flight flight = FlightRepository.getFlightByCode(flightCode);
+            if (flight != null) {
+                capacity += flight.getSeatCapacity();
+            }
+        }
+        return new RouteDayStats(aggregate.origin, aggregate.destination, aggregate.airline,
+            aggregate.departureDate, aggregate.revenue, aggregate.adults, aggregate.minors,
+            aggregate.confirmedCount, aggregate.cancelledCount, capacity);
+    }
+
+    /**
+     * Builds the aggregate key for a route, airline and date
+     */
+    private static String aggregateKey(String origin, String destination, String airline, LocalDate date) {
+        return origin + DELIMITER + destination + DELIMITER + airline + DELIMITER + date;
+    }
+
+    /**
+     * Clears the cache
+     */
+    public static synchronized void clearCache() {
+        aggregates.clear();
+        contributions.clear();
+        passengersByDate.clear();
+        totalRevenue = 0L;
+        cacheLoaded = false;
+    }
+}
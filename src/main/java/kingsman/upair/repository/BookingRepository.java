@@ -1,16 +1,22 @@
 package kingsman.upair.repository;
 
 import kingsman.upair.model.Booking;
+import kingsman.upair.utils.Money;
 
 import java.io.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Repository class for managing booking data persistence
  * Follows Repository Pattern and Single Responsibility Principle
+ * Thread-safe: the cache and occupancy index are guarded by the class lock;
+ * listeners are notified outside the lock
  */
 public class BookingRepository {
     
@@ -23,16 +29,29 @@ public class BookingRepository {
     private static final Map<String, Booking> bookingCache = new HashMap<>();
     private static boolean cacheLoaded = false;
     
+    // Occupancy index: seats booked per flight code and date (excluding cancelled bookings)
+    // Maintained on every load/save/update so occupancy reads never scan the bookings
+    private static final Map<String, Integer> occupancyIndex = new ConcurrentHashMap<>();
+    // Contribution of each booking to the occupancy index, so updates can be reversed
+    // even when the caller mutated the cached booking before calling updateBooking
+    private static final Map<String, OccupancyEntry> occupancyContributions = new HashMap<>();
+    
+    // Change listeners (e.g. table models)
+    private static final List<RepositoryListener<Booking>> listeners = new CopyOnWriteArrayList<>();
+    
     /**
      * Loads all bookings from file into memory cache
+     * The flag is set only once the bookings and occupancy index are complete,
+     * so a concurrent caller waits for the load instead of reading a partial cache
      */
-    private static void loadCache() {
+    private static synchronized void loadCache() {
         if (cacheLoaded) {
             return;
         }
         
         File file = new File(BOOKING_FILE);
         if (!file.exists()) {
+            cacheLoaded = true;
             return;
         }
         
@@ -43,7 +62,12 @@ public class BookingRepository {
                     continue;
                 }
                 String[] parts = line.split("\\" + DELIMITER);
-                if (parts.length >= 12) {
+                if (parts.length < 16) {
+                    System.err.println("Skipping malformed booking record: " + parts.length + " fields");
+                    continue;
+                }
+                // A malformed record is skipped so it cannot stop the remaining bookings from loading
+                try {
                     Booking booking = new Booking();
                     booking.setBookingId(parts[0].trim());
                     booking.setPassengerUsername(parts[1].trim());
@@ -75,25 +99,31 @@ public class BookingRepository {
                         booking.setPassengerNames(names);
                     }
                     
-                    booking.setTotalPrice(Double.parseDouble(parts[14].trim()));
+                    booking.setTotalPrice(Money.parse(parts[14].trim()));
                     booking.setStatus(parts[15].trim());
                     booking.setVoucherCode(parts.length > 16 && !parts[16].trim().isEmpty() ? parts[16].trim() : null);
                     booking.setSeatPreference(parts.length > 17 && !parts[17].trim().isEmpty() ? parts[17].trim() : null);
                     booking.setPaymentType(parts.length > 18 && !parts[18].trim().isEmpty() ? parts[18].trim() : null);
+                    booking.setFareBucket(parts.length > 19 && !parts[19].trim().isEmpty() ? parts[19].trim() : null);
+                    booking.setReturnFareBucket(parts.length > 20 && !parts[20].trim().isEmpty() ? parts[20].trim() : null);
                     
                     bookingCache.put(booking.getBookingId(), booking);
+                    indexOccupancy(booking);
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    System.err.println("Skipping malformed booking record: " + e.getMessage());
                 }
             }
         } catch (IOException e) {
             System.err.println("Error loading bookings: " + e.getMessage());
         }
+        cacheLoaded = true;
     }
     
     /**
      * Generates a unique booking ID
      * Format: BK-YYYYMMDD-HHMMSS-XXXX
      */
-    public static String generateBookingId() {
+    public static synchronized String generateBookingId() {
         loadCache();
         String baseId;
         Random random = new Random();
@@ -123,59 +153,66 @@ public class BookingRepository {
             booking.setBookingId(generateBookingId());
         }
         
-        loadCache();
-        
-        try {
-            File file = new File(BOOKING_FILE);
-            boolean fileExists = file.exists();
+        synchronized (BookingRepository.class) {
+            loadCache();
             
-            // Format seats and names as "A1:John Doe,B2:Jane Doe"
-            StringBuilder seatNamePairs = new StringBuilder();
-            if (booking.getReservedSeats() != null && booking.getPassengerNames() != null) {
-                for (int i = 0; i < booking.getReservedSeats().size(); i++) {
-                    if (i > 0) seatNamePairs.append(",");
-                    seatNamePairs.append(booking.getReservedSeats().get(i))
-                                 .append(":")
-                                 .append(booking.getPassengerNames().get(i));
+            try {
+                File file = new File(BOOKING_FILE);
+                boolean fileExists = file.exists();
+                
+                // Format seats and names as "A1:John Doe,B2:Jane Doe"
+                StringBuilder seatNamePairs = new StringBuilder();
+                if (booking.getReservedSeats() != null && booking.getPassengerNames() != null) {
+                    for (int i = 0; i < booking.getReservedSeats().size(); i++) {
+                        if (i > 0) seatNamePairs.append(",");
+                        seatNamePairs.append(booking.getReservedSeats().get(i))
+                                     .append(":")
+                                     .append(booking.getPassengerNames().get(i));
+                    }
                 }
+                
+                try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+                    writer.println(String.join(DELIMITER,
+                        booking.getBookingId(),
+                        booking.getPassengerUsername(),
+                        booking.getTripType(),
+                        booking.getFlightCode(),
+                        booking.getReturnFlightCode() != null ? booking.getReturnFlightCode() : "",
+                        booking.getOrigin(),
+                        booking.getDestination(),
+                        booking.getDepartureDate().format(DATE_FORMATTER),
+                        booking.getDepartureTime().format(TIME_FORMATTER),
+                        booking.getReturnDate() != null ? booking.getReturnDate().format(DATE_FORMATTER) : "",
+                        booking.getReturnTime() != null ? booking.getReturnTime().format(TIME_FORMATTER) : "",
+                        String.valueOf(booking.getNumberOfAdults()),
+                        String.valueOf(booking.getNumberOfMinors()),
+                        seatNamePairs.toString(),
+                        Money.toPlainString(booking.getTotalPrice()),
+                        booking.getStatus(),
+                        booking.getVoucherCode() != null ? booking.getVoucherCode() : "",
+                        booking.getSeatPreference() != null ? booking.getSeatPreference() : "",
+                        booking.getPaymentType() != null ? booking.getPaymentType() : "",
+                        booking.getFareBucket() != null ? booking.getFareBucket() : "",
+                        booking.getReturnFareBucket() != null ? booking.getReturnFareBucket() : ""
+                    ));
+                }
+                
+                bookingCache.put(booking.getBookingId(), booking);
+                indexOccupancy(booking);
+            } catch (IOException e) {
+                System.err.println("Error saving booking: " + e.getMessage());
+                return false;
             }
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
-                writer.println(String.join(DELIMITER,
-                    booking.getBookingId(),
-                    booking.getPassengerUsername(),
-                    booking.getTripType(),
-                    booking.getFlightCode(),
-                    booking.getReturnFlightCode() != null ? booking.getReturnFlightCode() : "",
-                    booking.getOrigin(),
-                    booking.getDestination(),
-                    booking.getDepartureDate().format(DATE_FORMATTER),
-                    booking.getDepartureTime().format(TIME_FORMATTER),
-                    booking.getReturnDate() != null ? booking.getReturnDate().format(DATE_FORMATTER) : "",
-                    booking.getReturnTime() != null ? booking.getReturnTime().format(TIME_FORMATTER) : "",
-                    String.valueOf(booking.getNumberOfAdults()),
-                    String.valueOf(booking.getNumberOfMinors()),
-                    seatNamePairs.toString(),
-                    String.valueOf(booking.getTotalPrice()),
-                    booking.getStatus(),
-                    booking.getVoucherCode() != null ? booking.getVoucherCode() : "",
-                    booking.getSeatPreference() != null ? booking.getSeatPreference() : "",
-                    booking.getPaymentType() != null ? booking.getPaymentType() : ""
-                ));
-            }
-            
-            bookingCache.put(booking.getBookingId(), booking);
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error saving booking: " + e.getMessage());
-            return false;
         }
+        
+        fireChange(RepositoryListener.Change.INSERTED, booking);
+        return true;
     }
     
     /**
      * Gets all bookings
      */
-    public static List<Booking> getAllBookings() {
+    public static synchronized List<Booking> getAllBookings() {
         loadCache();
         return new ArrayList<>(bookingCache.values());
     }
@@ -183,7 +220,7 @@ public class BookingRepository {
     /**
      * Gets bookings by passenger username
      */
-    public static List<Booking> getBookingsByUsername(String username) {
+    public static synchronized List<Booking> getBookingsByUsername(String username) {
         loadCache();
         List<Booking> result = new ArrayList<>();
         for (Booking booking : bookingCache.values()) {
@@ -197,7 +234,7 @@ public class BookingRepository {
     /**
      * Gets a booking by booking ID
      */
-    public static Booking getBookingById(String bookingId) {
+    public static synchronized Booking getBookingById(String bookingId) {
         loadCache();
         return bookingCache.get(bookingId);
     }
@@ -205,7 +242,7 @@ public class BookingRepository {
     /**
      * Gets reserved seats for a flight code and date
      */
-    public static List<String> getReservedSeatsForFlight(String flightCode, LocalDate date) {
+    public static synchronized List<String> getReservedSeatsForFlight(String flightCode, LocalDate date) {
         loadCache();
         List<String> reservedSeats = new ArrayList<>();
         for (Booking booking : bookingCache.values()) {
@@ -226,76 +263,180 @@ public class BookingRepository {
      * @return true if update was successful, false otherwise
      */
     public static boolean updateBooking(Booking updatedBooking) {
+        return updateBooking(updatedBooking, null);
+    }
+    
+    /**
+     * Updates a booking only if its stored status is still the expected one
+     * The check and the write happen under the repository lock, so of two
+     * concurrent status changes from the same state only one succeeds
+     * @param updatedBooking The booking with updated information (a copy, not the cached booking)
+     * @param expectedStatus The status the stored booking must have
+     * @return true if updated, false if the status changed meanwhile or the update failed
+     */
+    public static boolean updateBookingIfStatus(Booking updatedBooking, String expectedStatus) {
+        return expectedStatus != null && updateBooking(updatedBooking, expectedStatus);
+    }
+    
+    private static boolean updateBooking(Booking updatedBooking, String expectedStatus) {
         if (updatedBooking == null || updatedBooking.getBookingId() == null ||
             updatedBooking.getBookingId().trim().isEmpty()) {
             return false;
         }
         
-        loadCache();
-        if (!bookingCache.containsKey(updatedBooking.getBookingId())) {
-            return false; // Booking doesn't exist
-        }
-        
-        // Reload all bookings, update the one we need, and rewrite the file
-        List<Booking> bookings = getAllBookings();
-        for (int i = 0; i < bookings.size(); i++) {
-            if (bookings.get(i).getBookingId().equals(updatedBooking.getBookingId())) {
-                bookings.set(i, updatedBooking);
-                break;
+        synchronized (BookingRepository.class) {
+            loadCache();
+            Booking current = bookingCache.get(updatedBooking.getBookingId());
+            if (current == null) {
+                return false; // Booking doesn't exist
             }
-        }
-        
-        // Rewrite file with updated bookings
-        try (PrintWriter writer = new PrintWriter(new FileWriter(BOOKING_FILE))) {
-            for (Booking booking : bookings) {
-                // Format seats and names as "A1:John Doe,B2:Jane Doe"
-                StringBuilder seatNamePairs = new StringBuilder();
-                if (booking.getReservedSeats() != null && booking.getPassengerNames() != null) {
-                    for (int i = 0; i < booking.getReservedSeats().size(); i++) {
-                        if (i > 0) seatNamePairs.append(",");
-                        seatNamePairs.append(booking.getReservedSeats().get(i))
-                                     .append(":")
-                                     .append(booking.getPassengerNames().get(i));
+            if (expectedStatus != null && !expectedStatus.equalsIgnoreCase(current.getStatus())) {
+                return false; // Already changed by someone else
+            }
+            
+            // Reload all bookings, update the one we need, and rewrite the file
+            List<Booking> bookings = getAllBookings();
+            for (int i = 0; i < bookings.size(); i++) {
+                if (bookings.get(i).getBookingId().equals(updatedBooking.getBookingId())) {
+                    bookings.set(i, updatedBooking);
+                    break;
+                }
+            }
+            
+            // Rewrite file with updated bookings
+            try (PrintWriter writer = new PrintWriter(new FileWriter(BOOKING_FILE))) {
+                for (Booking booking : bookings) {
+                    // Format seats and names as "A1:John Doe,B2:Jane Doe"
+                    StringBuilder seatNamePairs = new StringBuilder();
+                    if (booking.getReservedSeats() != null && booking.getPassengerNames() != null) {
+                        for (int i = 0; i < booking.getReservedSeats().size(); i++) {
+                            if (i > 0) seatNamePairs.append(",");
+                            seatNamePairs.append(booking.getReservedSeats().get(i))
+                                         .append(":")
+                                         .append(booking.getPassengerNames().get(i));
+                        }
                     }
+                    
+                    writer.println(String.join(DELIMITER,
+                        booking.getBookingId(),
+                        booking.getPassengerUsername(),
+                        booking.getTripType(),
+                        booking.getFlightCode(),
+                        booking.getReturnFlightCode() != null ? booking.getReturnFlightCode() : "",
+                        booking.getOrigin(),
+                        booking.getDestination(),
+                        booking.getDepartureDate().format(DATE_FORMATTER),
+                        booking.getDepartureTime().format(TIME_FORMATTER),
+                        booking.getReturnDate() != null ? booking.getReturnDate().format(DATE_FORMATTER) : "",
+                        booking.getReturnTime() != null ? booking.getReturnTime().format(TIME_FORMATTER) : "",
+                        String.valueOf(booking.getNumberOfAdults()),
+                        String.valueOf(booking.getNumberOfMinors()),
+                        seatNamePairs.toString(),
+                        Money.toPlainString(booking.getTotalPrice()),
+                        booking.getStatus(),
+                        booking.getVoucherCode() != null ? booking.getVoucherCode() : "",
+                        booking.getSeatPreference() != null ? booking.getSeatPreference() : "",
+                        booking.getPaymentType() != null ? booking.getPaymentType() : "",
+                        booking.getFareBucket() != null ? booking.getFareBucket() : "",
+                        booking.getReturnFareBucket() != null ? booking.getReturnFareBucket() : ""
+                    ));
                 }
-                
-                writer.println(String.join(DELIMITER,
-                    booking.getBookingId(),
-                    booking.getPassengerUsername(),
-                    booking.getTripType(),
-                    booking.getFlightCode(),
-                    booking.getReturnFlightCode() != null ? booking.getReturnFlightCode() : "",
-                    booking.getOrigin(),
-                    booking.getDestination(),
-                    booking.getDepartureDate().format(DATE_FORMATTER),
-                    booking.getDepartureTime().format(TIME_FORMATTER),
-                    booking.getReturnDate() != null ? booking.getReturnDate().format(DATE_FORMATTER) : "",
-                    booking.getReturnTime() != null ? booking.getReturnTime().format(TIME_FORMATTER) : "",
-                    String.valueOf(booking.getNumberOfAdults()),
-                    String.valueOf(booking.getNumberOfMinors()),
-                    seatNamePairs.toString(),
-                    String.valueOf(booking.getTotalPrice()),
-                    booking.getStatus(),
-                    booking.getVoucherCode() != null ? booking.getVoucherCode() : "",
-                    booking.getSeatPreference() != null ? booking.getSeatPreference() : "",
-                    booking.getPaymentType() != null ? booking.getPaymentType() : ""
-                ));
+            } catch (IOException e) {
+                System.err.println("Error updating booking: " + e.getMessage());
+                return false;
             }
-        } catch (IOException e) {
-            System.err.println("Error updating booking: " + e.getMessage());
-            return false;
+            
+            // Update cache
+            bookingCache.put(updatedBooking.getBookingId(), updatedBooking);
+            indexOccupancy(updatedBooking);
         }
         
-        // Update cache
-        bookingCache.put(updatedBooking.getBookingId(), updatedBooking);
+        fireChange(RepositoryListener.Change.UPDATED, updatedBooking);
         return true;
     }
     
+    /**
+     * Gets the number of seats booked on a flight for a date
+     * Reads the maintained occupancy index in O(1) instead of scanning bookings
+     * @param flightCode The flight code
+     * @param date The departure date
+     * @return Number of booked seats (excluding cancelled bookings)
+     */
+    public static synchronized int getBookedSeatCount(String flightCode, LocalDate date) {
+        loadCache();
+        return occupancyIndex.getOrDefault(occupancyKey(flightCode, date), 0);
+    }
+    
+    /**
+     * Replaces a booking's contribution to the occupancy index with its current state
+     */
+    private static void indexOccupancy(Booking booking) {
+        OccupancyEntry previous = occupancyContributions.remove(booking.getBookingId());
+        if (previous != null) {
+            occupancyIndex.merge(previous.key, -previous.seats, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        
+        if (booking.getStatus() == null || booking.getStatus().equals("Cancelled") ||
+            booking.getReservedSeats() == null || booking.getReservedSeats().isEmpty()) {
+            return;
+        }
+        
+        OccupancyEntry entry = new OccupancyEntry(
+            occupancyKey(booking.getFlightCode(), booking.getDepartureDate()),
+            booking.getReservedSeats().size());
+        occupancyContributions.put(booking.getBookingId(), entry);
+        occupancyIndex.merge(entry.key, entry.seats, Integer::sum);
+    }
+    
+    /**
+     * Builds the occupancy index key for a flight code and date
+     */
+    private static String occupancyKey(String flightCode, LocalDate date) {
+        return flightCode + DELIMITER + date.format(DATE_FORMATTER);
+    }
+    
+    /**
+     * Seats a single booking contributes to the occupancy index
+     */
+    private static class OccupancyEntry {
+        private final String key;
+        private final int seats;
+        
+        OccupancyEntry(String key, int seats) {
+            this.key = key;
+            this.seats = seats;
+        }
+    }
+    
+    /**
+     * Registers a listener for booking changes
+     * @param listener The listener
+     */
+    public static void addListener(RepositoryListener<Booking> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregisters a booking change listener
+     * @param listener The listener
+     */
+    public static void removeListener(RepositoryListener<Booking> listener) {
+        listeners.remove(listener);
+    }
+    
+    private static void fireChange(RepositoryListener.Change change, Booking booking) {
+        for (RepositoryListener<Booking> listener : listeners) {
+            listener.onChange(change, booking);
+        }
+    }
+    
     /**
      * Clears the cache
      */
-    public static void clearCache() {
+    public static synchronized void clearCache() {
         bookingCache.clear();
+        occupancyIndex.clear();
+        occupancyContributions.clear();
         cacheLoaded = false;
     }
 }
@@ -0,0 +1,163 @@
+package kingsman.upair.repository;
+
+import kingsman.upair.model.Booking;
+import kingsman.upair.model.BookingView;
+import kingsman.upair.model.Passenger;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repository class for the BookingView read model
+ * Keeps one precomputed view per booking, joined with the passenger's name,
+ * and rebuilds only the affected views when a booking or passenger changes,
+ * so booking tables never look up passengers while rendering
+ * Views are derived data and are not persisted
+ */
+public class BookingViewRepository {
+
+    // In-memory views by booking ID
+    private static final Map<String, BookingView> viewCache = new HashMap<>();
+    // Booking IDs by lowercase passenger username, for passenger updates
+    private static final Map<String, Set<String>> bookingIdsByUsername = new HashMap<>();
+    private static boolean cacheLoaded = false;
+
+    // Change listeners (e.g. table models)
+    private static final List<RepositoryListener<BookingView>> listeners = new CopyOnWriteArrayList<>();
+
+    static {
+        BookingRepository.addListener(BookingViewRepository::onBookingChange);
+        PassengerRepository.addListener(BookingViewRepository::onPassengerChange);
+    }
+
+    /**
+     * Builds all views from the booking and passenger caches
+     */
+    private static synchronized void loadCache() {
+        if (cacheLoaded) {
+            return;
+        }
+
+        for (Booking booking : BookingRepository.getAllBookings()) {
+            putView(booking);
+        }
+        cacheLoaded = true;
+    }
+
+    /**
+     * Gets the views of all bookings
+     * @return List of views
+     */
+    public static synchronized List<BookingView> getAllViews() {
+        loadCache();
+        return new ArrayList<>(viewCache.values());
+    }
+
+    /**
+     * Gets the view of a booking
+     * @param bookingId The booking ID
+     * @return The view, or null if not found
+     */
+    public static synchronized BookingView getViewByBookingId(String bookingId) {
+        loadCache();
+        return viewCache.get(bookingId);
+    }
+
+    /**
+     * Rebuilds the view of a changed booking
+     */
+    private static void onBookingChange(RepositoryListener.Change change, Booking booking) {
+        BookingView view;
+        synchronized (BookingViewRepository.class) {
+            if (!cacheLoaded) {
+                return; // Built from the repository on first use
+            }
+            if (change == RepositoryListener.Change.DELETED) {
+                view = removeView(booking.getBookingId());
+            } else {
+                view = putView(booking);
+            }
+        }
+        if (view != null) {
+            fireChange(change, view);
+        }
+    }
+
+    /**
+     * Rebuilds the views of a changed passenger's bookings
+     */
+    private static void onPassengerChange(RepositoryListener.Change change, Passenger passenger) {
+        List<BookingView> updated = new ArrayList<>();
+        synchronized (BookingViewRepository.class) {
+            if (!cacheLoaded) {
+                return;
+            }
+            Set<String> bookingIds = bookingIdsByUsername.get(passenger.getUsername().toLowerCase());
+            if (bookingIds == null) {
+                return;
+            }
+            for (String bookingId : bookingIds) {
+                Booking booking = BookingRepository.getBookingById(bookingId);
+                if (booking != null) {
+                    updated.add(putView(booking));
+                }
+            }
+        }
+        for (BookingView view : updated) {
+            fireChange(RepositoryListener.Change.UPDATED, view);
+        }
+    }
+
+    private static BookingView putView(Booking booking) {
+        BookingView view = new BookingView(booking,
+            PassengerRepository.getPassengerByUsername(booking.getPassengerUsername()));
+        viewCache.put(view.getBookingId(), view);
+        if (view.getPassengerUsername() != null) {
+            bookingIdsByUsername.computeIfAbsent(view.getPassengerUsername().toLowerCase(), k -> new HashSet<>())
+                                .add(view.getBookingId());
+        }
+        return view;
+    }
+
+    private static BookingView removeView(String bookingId) {
+        BookingView view = viewCache.remove(bookingId);
+        if (view != null && view.getPassengerUsername() != null) {
+            Set<String> bookingIds = bookingIdsByUsername.get(view.getPassengerUsername().toLowerCase());
+            if (bookingIds != null) {
+                bookingIds.remove(bookingId);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Registers a listener for view changes
+     * @param listener The listener
+     */
+    public static void addListener(RepositoryListener<BookingView> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a view change listener
+     * @param listener The listener
+     */
+    public static void removeListener(RepositoryListener<BookingView> listener) {
+        listeners.remove(listener);
+    }
+
+    private static void fireChange(RepositoryListener.Change change, BookingView view) {
+        for (RepositoryListener<BookingView> listener : listeners) {
+            listener.onChange(change, view);
+        }
+    }
+
+    /**
+     * Clears the cache
+     */
+    public static synchronized void clearCache() {
+        viewCache.clear();
+        bookingIdsByUsername.clear();
+        cacheLoaded = false;
+    }
+}
@@ -0,0 +1,159 @@
+package kingsman.upair.repository;
+
+import kingsman.upair.model.FareBucket;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Repository class for managing fare bucket data persistence
+ * Fare buckets are stored alongside schedules, keyed by schedule ID
+ * Follows Repository Pattern and Single Responsibility Principle
+ * Thread-safe: the cache is guarded by the class lock
+ */
+public class FareBucketRepository {
+
+    private static final String FARE_BUCKET_FILE = "FBschedule_data.txt";
+    private static final String DELIMITER = "|";
+
+    // In-memory cache: schedule ID -> buckets sorted from lowest to highest fare
+    private static final Map<String, List<FareBucket>> bucketCache = new HashMap<>();
+    private static boolean cacheLoaded = false;
+
+    /**
+     * Loads all fare buckets from file into memory cache
+     */
+    private static synchronized void loadCache() {
+        if (cacheLoaded) {
+            return;
+        }
+
+        File file = new File(FARE_BUCKET_FILE);
+        if (!file.exists()) {
+            cacheLoaded = true;
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split("\\" + DELIMITER);
+                if (parts.length < 4) {
+                    System.err.println("Skipping malformed fare bucket record: " + parts.length + " fields");
+                    continue;
+                }
+                // A malformed record is skipped so it cannot stop the remaining buckets from loading
+                try {
+                    FareBucket bucket = new FareBucket(
+                        parts[0].trim(), // scheduleId
+                        parts[1].trim(), // bucketCode
+                        Integer.parseInt(parts[2].trim()), // bookingLimit
+                        Double.parseDouble(parts[3].trim()) // fareMultiplier
+                    );
+                    bucketCache.computeIfAbsent(bucket.getScheduleId(), k -> new ArrayList<>()).add(bucket);
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping malformed fare bucket record: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading fare buckets: " + e.getMessage());
+        }
+
+        for (List<FareBucket> buckets : bucketCache.values()) {
+            buckets.sort(Comparator.comparingDouble(FareBucket::getFareMultiplier));
+        }
+        cacheLoaded = true;
+    }
+
+    /**
+     * Saves the fare buckets of a schedule to file
+     * @param scheduleId The schedule ID
+     * @param buckets The buckets to save
+     * @return true if successful, false otherwise
+     */
+    public static synchronized boolean saveBuckets(String scheduleId, List<FareBucket> buckets) {
+        if (scheduleId == null || buckets == null || buckets.isEmpty()) {
+            return false;
+        }
+        for (FareBucket bucket : buckets) {
+            if (!bucket.isValid() || !bucket.getScheduleId().equals(scheduleId)) {
+                return false;
+            }
+        }
+
+        loadCache();
+        if (bucketCache.containsKey(scheduleId)) {
+            return false; // Buckets already defined for this schedule
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(FARE_BUCKET_FILE, true))) {
+            for (FareBucket bucket : buckets) {
+                writer.println(toLine(bucket));
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving fare buckets: " + e.getMessage());
+            return false;
+        }
+
+        List<FareBucket> sorted = new ArrayList<>(buckets);
+        sorted.sort(Comparator.comparingDouble(FareBucket::getFareMultiplier));
+        bucketCache.put(scheduleId, sorted);
+        return true;
+    }
+
+    /**
+     * Deletes the fare buckets of a schedule
+     * @param scheduleId The schedule ID
+     * @return true if successful, false otherwise
+     */
+    public static synchronized boolean deleteBuckets(String scheduleId) {
+        loadCache();
+        if (bucketCache.remove(scheduleId) == null) {
+            return false;
+        }
+
+        // Rewrite file
+        try (PrintWriter writer = new PrintWriter(new FileWriter(FARE_BUCKET_FILE))) {
+            for (List<FareBucket> buckets : bucketCache.values()) {
+                for (FareBucket bucket : buckets) {
+                    writer.println(toLine(bucket));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error deleting fare buckets: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the fare buckets of a schedule
+     * @param scheduleId The schedule ID
+     * @return Buckets sorted from lowest to highest fare, or null if none are stored
+     */
+    public static synchronized List<FareBucket> getBucketsForSchedule(String scheduleId) {
+        loadCache();
+        List<FareBucket> buckets = bucketCache.get(scheduleId);
+        return buckets != null ? Collections.unmodifiableList(buckets) : null;
+    }
+
+    private static String toLine(FareBucket bucket) {
+        return String.join(DELIMITER,
+            bucket.getScheduleId(),
+            bucket.getBucketCode(),
+            String.valueOf(bucket.getBookingLimit()),
+            String.valueOf(bucket.getFareMultiplier())
+        );
+    }
+
+    /**
+     * Clears the cache
+     */
+    public static synchronized void clearCache() {
+        bucketCache.clear();
+        cacheLoaded = false;
+    }
+}
@@ -5,11 +5,13 @@ import kingsman.upair.model.FlightOffer;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Repository class for managing flight data persistence
  * Follows Repository Pattern and Single Responsibility Principle
  * Uses data structures for efficient data management
+ * Thread-safe: the caches are guarded by the class lock; listeners are notified outside the lock
  */
 public class FlightRepository {
     
@@ -22,10 +24,13 @@ public class FlightRepository {
     private static final Map<String, FlightOffer> offerCache = new HashMap<>();
     private static boolean cacheLoaded = false;
     
+    // Change listeners (e.g. table models)
+    private static final List<RepositoryListener<Flight>> listeners = new CopyOnWriteArrayList<>();
+    
     /**
      * Loads all flight data from files into memory cache
      */
-    private static void loadCache() {
+    private static synchronized void loadCache() {
         if (cacheLoaded) {
             return;
         }
@@ -114,37 +119,40 @@ public class FlightRepository {
             return false;
         }
         
-        // Check for duplicate flight code
-        loadCache();
-        if (flightCache.containsKey(flight.getFlightCode())) {
-            return false; // Duplicate flight code
-        }
-        
-        try {
-            File file = new File(FLIGHT_DATA_FILE);
-            boolean fileExists = file.exists();
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
-                writer.println(String.join(DELIMITER,
-                    flight.getAirline(),
-                    flight.getOrigin(),
-                    flight.getDestination(),
-                    flight.getDuration(),
-                    flight.getAircraftModel(),
-                    flight.getFlightCode(),
-                    String.valueOf(flight.getSeatCapacity()),
-                    String.valueOf(flight.getBaseFare())
-                ));
+        synchronized (FlightRepository.class) {
+            // Check for duplicate flight code
+            loadCache();
+            if (flightCache.containsKey(flight.getFlightCode())) {
+                return false; // Duplicate flight code
             }
             
-            // Update cache
-            flightCache.put(flight.getFlightCode(), flight);
-            
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error saving flight: " + e.getMessage());
-            return false;
+            try {
+                File file = new File(FLIGHT_DATA_FILE);
+                boolean fileExists = file.exists();
+                
+                try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+                    writer.println(String.join(DELIMITER,
+                        flight.getAirline(),
+                        flight.getOrigin(),
+                        flight.getDestination(),
+                        flight.getDuration(),
+                        flight.getAircraftModel(),
+                        flight.getFlightCode(),
+                        String.valueOf(flight.getSeatCapacity()),
+                        String.valueOf(flight.getBaseFare())
+                    ));
+                }
+                
+                // Update cache
+                flightCache.put(flight.getFlightCode(), flight);
+            } catch (IOException e) {
+                System.err.println("Error saving flight: " + e.getMessage());
+                return false;
+            }
         }
+        
+        fireChange(RepositoryListener.Change.INSERTED, flight);
+        return true;
     }
     
     /**
@@ -157,42 +165,45 @@ public class FlightRepository {
             return false;
         }
         
-        loadCache();
-        if (!flightCache.containsKey(flight.getFlightCode())) {
-            return false; // Flight doesn't exist
-        }
-        
-        // Reload all flights, update the one we need, and rewrite
-        List<Flight> flights = getAllFlights();
-        for (int i = 0; i < flights.size(); i++) {
-            if (flights.get(i).getFlightCode().equals(flight.getFlightCode())) {
-                flights.set(i, flight);
-                break;
+        synchronized (FlightRepository.class) {
+            loadCache();
+            if (!flightCache.containsKey(flight.getFlightCode())) {
+                return false; // Flight doesn't exist
             }
-        }
-        
-        // Rewrite file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FLIGHT_DATA_FILE))) {
-            for (Flight f : flights) {
-                writer.println(String.join(DELIMITER,
-                    f.getAirline(),
-                    f.getOrigin(),
-                    f.getDestination(),
-                    f.getDuration(),
-                    f.getAircraftModel(),
-                    f.getFlightCode(),
-                    String.valueOf(f.getSeatCapacity()),
-                    String.valueOf(f.getBaseFare())
-                ));
+            
+            // Reload all flights, update the one we need, and rewrite
+            List<Flight> flights = getAllFlights();
+            for (int i = 0; i < flights.size(); i++) {
+                if (flights.get(i).getFlightCode().equals(flight.getFlightCode())) {
+                    flights.set(i, flight);
+                    break;
+                }
             }
-        } catch (IOException e) {
-            System.err.println("Error updating flight: " + e.getMessage());
-            return false;
+            
+            // Rewrite file
+            try (PrintWriter writer = new PrintWriter(new FileWriter(FLIGHT_DATA_FILE))) {
+                for (Flight f : flights) {
+                    writer.println(String.join(DELIMITER,
+                        f.getAirline(),
+                        f.getOrigin(),
+                        f.getDestination(),
+                        f.getDuration(),
+                        f.getAircraftModel(),
+                        f.getFlightCode(),
+                        String.valueOf(f.getSeatCapacity()),
+                        String.valueOf(f.getBaseFare())
+                    ));
+                }
+            } catch (IOException e) {
+                System.err.println("Error updating flight: " + e.getMessage());
+                return false;
+            }
+            
+            // Update cache
+            flightCache.put(flight.getFlightCode(), flight);
         }
         
-        // Update cache
-        flightCache.put(flight.getFlightCode(), flight);
-        
+        fireChange(RepositoryListener.Change.UPDATED, flight);
         return true;
     }
     
@@ -206,37 +217,41 @@ public class FlightRepository {
             return false;
         }
         
-        loadCache();
-        if (!flightCache.containsKey(flightCode)) {
-            return false; // Flight doesn't exist
-        }
-        
-        // Reload all flights, remove the one we need, and rewrite
-        List<Flight> flights = getAllFlights();
-        flights.removeIf(f -> f.getFlightCode().equals(flightCode));
-        
-        // Rewrite file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FLIGHT_DATA_FILE))) {
-            for (Flight f : flights) {
-                writer.println(String.join(DELIMITER,
-                    f.getAirline(),
-                    f.getOrigin(),
-                    f.getDestination(),
-                    f.getDuration(),
-                    f.getAircraftModel(),
-                    f.getFlightCode(),
-                    String.valueOf(f.getSeatCapacity()),
-                    String.valueOf(f.getBaseFare())
-                ));
+        Flight removed;
+        synchronized (FlightRepository.class) {
+            loadCache();
+            if (!flightCache.containsKey(flightCode)) {
+                return false; // Flight doesn't exist
             }
-        } catch (IOException e) {
-            System.err.println("Error deleting flight: " + e.getMessage());
-            return false;
+            
+            // Reload all flights, remove the one we need, and rewrite
+            List<Flight> flights = getAllFlights();
+            flights.removeIf(f -> f.getFlightCode().equals(flightCode));
+            
+            // Rewrite file
+            try (PrintWriter writer = new PrintWriter(new FileWriter(FLIGHT_DATA_FILE))) {
+                for (Flight f : flights) {
+                    writer.println(String.join(DELIMITER,
+                        f.getAirline(),
+                        f.getOrigin(),
+                        f.getDestination(),
+                        f.getDuration(),
+                        f.getAircraftModel(),
+                        f.getFlightCode(),
+                        String.valueOf(f.getSeatCapacity()),
+                        String.valueOf(f.getBaseFare())
+                    ));
+                }
+            } catch (IOException e) {
+                System.err.println("Error deleting flight: " + e.getMessage());
+                return false;
+            }
+            
+            // Update cache
+            removed = flightCache.remove(flightCode);
         }
         
-        // Update cache
-        flightCache.remove(flightCode);
-        
+        fireChange(RepositoryListener.Change.DELETED, removed);
         return true;
     }
     
@@ -244,7 +259,7 @@ public class FlightRepository {
      * Gets all flights
      * @return List of all flights
      */
-    public static List<Flight> getAllFlights() {
+    public static synchronized List<Flight> getAllFlights() {
         loadCache();
         return new ArrayList<>(flightCache.values());
     }
@@ -254,7 +269,7 @@ public class FlightRepository {
      * @param airline The airline name
      * @return List of flights for the airline
      */
-    public static List<Flight> getFlightsByAirline(String airline) {
+    public static synchronized List<Flight> getFlightsByAirline(String airline) {
         loadCache();
         List<Flight> result = new ArrayList<>();
         for (Flight flight : flightCache.values()) {
@@ -270,7 +285,7 @@ public class FlightRepository {
      * @param flightCode The flight code
      * @return Flight object if found, null otherwise
      */
-    public static Flight getFlightByCode(String flightCode) {
+    public static synchronized Flight getFlightByCode(String flightCode) {
         loadCache();
         return flightCache.get(flightCode);
     }
@@ -280,7 +295,7 @@ public class FlightRepository {
      * @param offer The flight offer to save
      * @return true if successful, false otherwise
      */
-    public static boolean saveFlightOffer(FlightOffer offer) {
+    public static synchronized boolean saveFlightOffer(FlightOffer offer) {
         if (offer == null || !offer.isValid()) {
             return false;
         }
@@ -347,7 +362,7 @@ public class FlightRepository {
      * Gets all flight offers
      * @return List of all flight offers
      */
-    public static List<FlightOffer> getAllOffers() {
+    public static synchronized List<FlightOffer> getAllOffers() {
         loadCache();
         return new ArrayList<>(offerCache.values());
     }
@@ -357,15 +372,37 @@ public class FlightRepository {
      * @param flightCode The flight code
      * @return FlightOffer object if found, null otherwise
      */
-    public static FlightOffer getOfferByFlightCode(String flightCode) {
+    public static synchronized FlightOffer getOfferByFlightCode(String flightCode) {
         loadCache();
         return offerCache.get(flightCode);
     }
     
+    /**
+     * Registers a listener for flight changes
+     * @param listener The listener
+     */
+    public static void addListener(RepositoryListener<Flight> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregisters a flight change listener
+     * @param listener The listener
+     */
+    public static void removeListener(RepositoryListener<Flight> listener) {
+        listeners.remove(listener);
+    }
+    
+    private static void fireChange(RepositoryListener.Change change, Flight flight) {
+        for (RepositoryListener<Flight> listener : listeners) {
+            listener.onChange(change, flight);
+        }
+    }
+    
     /**
      * Clears the cache
      */
-    public static void clearCache() {
+    public static synchronized void clearCache() {
         flightCache.clear();
         offerCache.clear();
         cacheLoaded = false;
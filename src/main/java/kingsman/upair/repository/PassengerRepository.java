@@ -2,15 +2,26 @@ package kingsman.upair.repository;
 
 import kingsman.upair.model.Account;
 import kingsman.upair.model.Passenger;
-import kingsman.upair.utils.PasswordEncryption;
+import kingsman.upair.utils.BloomFilter;
+import kingsman.upair.utils.PasswordHasher;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Repository class for managing passenger data persistence
  * Follows Repository Pattern and Single Responsibility Principle
  * Uses data structures (List, Map) for efficient data management
+ * Thread-safe: caches and indexes are guarded by the class lock (even a read
+ * reorders the profile cache); listeners are notified outside the lock
  */
 public class PassengerRepository {
     
@@ -19,24 +30,69 @@ public class PassengerRepository {
     private static final String DELIMITER = "|";
     
     // In-memory cache using Map for O(1) lookup performance
-    private static final Map<String, Account> accountCache = new HashMap<>();
-    private static final Map<String, Passenger> passengerCache = new HashMap<>();
+    private static final Map<String, Account> accountCache = new LinkedHashMap<>(); // File order, for rewrites
     
-    // Flag to track if cache is loaded
-    private static boolean cacheLoaded = false;
+    // Passenger details are read on demand through a byte-offset index of the
+    // details file; only the most recently used profiles are kept in memory
+    private static final String PD_INDEX_FILE = "PDpassenger_data.idx";
+    private static final int MAX_CACHED_PROFILES = 256;
+    private static final int PD_INDEX_VERSION = 2;
+    private static final Map<String, Passenger> passengerCache =
+        new LinkedHashMap<String, Passenger>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Passenger> eldest) {
+                return size() > MAX_CACHED_PROFILES;
+            }
+        };
+    // Lowercase username -> position of its latest line in the details file
+    private static final Map<String, ProfileEntry> profileIndex = new HashMap<>();
+    // Identity key (ID type and number, see normalizeIdentity) -> lowercase username
+    private static final Map<String, String> identityIndex = new HashMap<>();
+    // Opened on first profile read; RandomAccessFile reads are not interruptible,
+    // so a cancelled background task cannot close it for everyone else
+    private static RandomAccessFile profileFile;
+    
+    // Flags to track which caches are loaded
+    private static boolean accountsLoaded = false;
+    private static boolean profileIndexLoaded = false;
+    
+    // Persisted Bloom filter over lowercase usernames, so registration can rule
+    // out a taken username without loading the accounts
+    private static final String USERNAME_FILTER_FILE = "AFpassenger_data.bloom";
+    private static final double USERNAME_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int USERNAME_FILTER_MIN_KEYS = 1024;
+    private static BloomFilter usernameFilter;
+    private static long usernameFilterSourceLength = 0L; // Bytes of the account file the filter covers
+    
+    /**
+     * Where a passenger's line is in the details file, and the identity it holds
+     */
+    private static class ProfileEntry {
+        final long offset;
+        final int length; // Bytes, without the line break
+        final String identity;
+
+        ProfileEntry(long offset, int length, String identity) {
+            this.offset = offset;
+            this.length = length;
+            this.identity = identity;
+        }
+    }
+    
+    // Change listeners (e.g. booking views showing passenger names)
+    private static final List<RepositoryListener<Passenger>> listeners = new CopyOnWriteArrayList<>();
     
     /**
-     * Loads all data from files into memory cache
+     * Loads accounts from file into memory cache
      * Improves performance by reducing file I/O operations
      */
-    private static void loadCache() {
-        if (cacheLoaded) {
+    private static synchronized void loadAccountCache() {
+        if (accountsLoaded) {
             return;
         }
         
         loadAccounts();
-        loadPassengers();
-        cacheLoaded = true;
+        accountsLoaded = true;
     }
     
     /**
@@ -68,55 +124,355 @@ public class PassengerRepository {
     }
     
     /**
-     * Loads passengers from file into cache
+     * Loads the profile index (once)
+     * Reads the persisted index and adds lines appended to the details file
+     * since it was written; rebuilds it from the file if it is missing or out
+     * of date. Only usernames and line positions are read, not profiles
      */
-    private static void loadPassengers() {
+    private static synchronized void loadProfileIndex() {
+        if (profileIndexLoaded) {
+            return;
+        }
+        
         File file = new File(PD_FILE);
         if (!file.exists()) {
+            profileIndexLoaded = true;
             return;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
+        long fileLength = file.length();
+        long sourceLength = -1L;
+        File indexFile = new File(PD_INDEX_FILE);
+        if (indexFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+                if (in.readInt() == PD_INDEX_VERSION) {
+                    sourceLength = in.readLong();
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String key = in.readUTF();
+                        putIndexEntry(key, new ProfileEntry(in.readLong(), in.readInt(), in.readUTF()));
+                    }
                 }
-                String[] parts = line.split("\\" + DELIMITER);
-                if (parts.length >= 9) {
-                    Passenger passenger = new Passenger(
-                        parts[0].trim(), // username
-                        parts[1].trim(), // firstName
-                        parts[2].trim(), // lastName
-                        parts[3].trim(), // cellphoneNumber
-                        parts[4].trim(), // province
-                        parts[5].trim(), // city
-                        parts[6].trim(), // barangay
-                        parts[7].trim(), // idType
-                        parts[8].trim()  // idNumber
-                    );
-                    passengerCache.put(passenger.getUsername().toLowerCase(), passenger);
+            } catch (IOException e) {
+                System.err.println("Error reading passenger index: " + e.getMessage());
+                sourceLength = -1L;
+            }
+        }
+        if (sourceLength < 0 || sourceLength > fileLength) {
+            // Missing, unreadable, older format, or the details file was rewritten shorter
+            profileIndex.clear();
+            identityIndex.clear();
+            sourceLength = 0L;
+        }
+        
+        if (sourceLength < fileLength) {
+            try (InputStream in = new FileInputStream(file)) {
+                indexProfiles(in, sourceLength);
+            } catch (IOException e) {
+                System.err.println("Error indexing passengers: " + e.getMessage());
+                profileIndex.clear();
+                identityIndex.clear();
+                return;
+            }
+            saveProfileIndex(fileLength);
+        }
+        profileIndexLoaded = true;
+    }
+    
+    /**
+     * Indexes the lines of the details file from a byte offset on
+     * A later line for the same username replaces the earlier one
+     */
+    private static void indexProfiles(InputStream file, long from) throws IOException {
+        if (file.skip(from) != from) {
+            throw new IOException("Details file is shorter than its index");
+        }
+        InputStream in = new BufferedInputStream(file, 64 * 1024);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long lineStart = from;
+        long position = from;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                indexLine(line, lineStart);
+                line.reset();
+                lineStart = position + 1;
+            } else {
+                line.write(b);
+            }
+            position++;
+        }
+        if (line.size() > 0) {
+            indexLine(line, lineStart); // Last line without a line break
+        }
+    }
+    
+    private static void indexLine(ByteArrayOutputStream bytes, long offset) {
+        int length = bytes.size();
+        String line = bytes.toString(StandardCharsets.UTF_8);
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+            length--;
+        }
+        Passenger passenger = parsePassenger(line);
+        if (passenger != null && !passenger.getUsername().isEmpty()) {
+            putIndexEntry(passenger.getUsername().toLowerCase(), new ProfileEntry(offset, length,
+                normalizeIdentity(passenger.getIdType(), passenger.getIdNumber())));
+        }
+    }
+    
+    /**
+     * Points a username at a new line, moving its identity in the identity index
+     */
+    private static void putIndexEntry(String key, ProfileEntry entry) {
+        ProfileEntry previous = profileIndex.put(key, entry);
+        if (previous != null && key.equals(identityIndex.get(previous.identity))) {
+            identityIndex.remove(previous.identity);
+        }
+        if (!entry.identity.isEmpty()) {
+            identityIndex.put(entry.identity, key);
+        }
+    }
+    
+    /**
+     * Normalizes an ID type and number for the identity index
+     * Case, spaces and dashes are ignored, so "AB-123 45" and "ab12345" are the same ID
+     * @param idType The ID type
+     * @param idNumber The ID number
+     * @return The identity key, or "" if there is no ID number
+     */
+    public static String normalizeIdentity(String idType, String idNumber) {
+        if (idNumber == null) {
+            return "";
+        }
+        String number = idNumber.replaceAll("[\\s-]", "").toUpperCase();
+        if (number.isEmpty()) {
+            return "";
+        }
+        return (idType == null ? "" : idType.trim().toLowerCase()) + DELIMITER + number;
+    }
+    
+    /**
+     * Persists the profile index with the details file length it covers
+     */
+    private static void saveProfileIndex(long sourceLength) {
+        File temp = new File(PD_INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(PD_INDEX_VERSION);
+            out.writeLong(sourceLength);
+            out.writeInt(profileIndex.size());
+            for (Map.Entry<String, ProfileEntry> entry : profileIndex.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().offset);
+                out.writeInt(entry.getValue().length);
+                out.writeUTF(entry.getValue().identity);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving passenger index: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), new File(PD_INDEX_FILE).toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving passenger index: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Reads one profile with a positional read of its indexed line
+     * Called with the class lock held, since reads share the file position
+     */
+    private static Passenger readProfile(ProfileEntry entry) {
+        byte[] bytes = new byte[entry.length];
+        int read = 0;
+        try {
+            if (profileFile == null) {
+                profileFile = new RandomAccessFile(PD_FILE, "r");
+            }
+            profileFile.seek(entry.offset);
+            while (read < bytes.length) {
+                int count = profileFile.read(bytes, read, bytes.length - read);
+                if (count < 0) {
+                    break; // File shorter than indexed
                 }
+                read += count;
             }
         } catch (IOException e) {
-            System.err.println("Error loading passengers: " + e.getMessage());
+            System.err.println("Error reading passenger: " + e.getMessage());
+            return null;
         }
+        return parsePassenger(new String(bytes, 0, read, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Parses a line of the details file
+     * @return The passenger, or null if the line is incomplete
+     */
+    private static Passenger parsePassenger(String line) {
+        String[] parts = line.split("\\" + DELIMITER);
+        if (parts.length < 9) {
+            return null;
+        }
+        return new Passenger(
+            parts[0].trim(), // username
+            parts[1].trim(), // firstName
+            parts[2].trim(), // lastName
+            parts[3].trim(), // cellphoneNumber
+            parts[4].trim(), // province
+            parts[5].trim(), // city
+            parts[6].trim(), // barangay
+            parts[7].trim(), // idType
+            parts[8].trim()  // idNumber
+        );
     }
     
     /**
      * Checks if a username already exists
-     * Uses cache for O(1) lookup performance
+     * Until the accounts are loaded, the username filter answers most "no"s;
+     * only possible matches load the accounts for an exact check
      * 
      * @param username The username to check
      * @return true if username exists, false otherwise
      */
-    public static boolean usernameExists(String username) {
+    public static synchronized boolean usernameExists(String username) {
         if (username == null || username.trim().isEmpty()) {
             return false;
         }
         
-        loadCache();
-        return accountCache.containsKey(username.trim().toLowerCase());
+        String key = username.trim().toLowerCase();
+        if (!accountsLoaded) {
+            loadUsernameFilter();
+            if (usernameFilter != null && !usernameFilter.mightContain(key)) {
+                return false;
+            }
+        }
+        loadAccountCache();
+        return accountCache.containsKey(key);
+    }
+    
+    /**
+     * Loads the username filter (once)
+     * Reads the persisted filter and adds usernames appended to the account file
+     * since it was written; rebuilds it from the account file if it is missing,
+     * out of date or over capacity. Either way only usernames are read
+     */
+    public static synchronized void loadUsernameFilter() {
+        if (usernameFilter != null) {
+            return;
+        }
+        
+        File file = new File(AF_FILE);
+        if (!file.exists()) {
+            usernameFilter = new BloomFilter(USERNAME_FILTER_MIN_KEYS, USERNAME_FILTER_FALSE_POSITIVE_RATE);
+            usernameFilterSourceLength = 0L;
+            return;
+        }
+        
+        long fileLength = file.length();
+        BloomFilter filter = null;
+        long sourceLength = 0L;
+        File filterFile = new File(USERNAME_FILTER_FILE);
+        if (filterFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filterFile)))) {
+                sourceLength = in.readLong();
+                filter = BloomFilter.readFrom(in);
+            } catch (IOException e) {
+                System.err.println("Error reading username filter: " + e.getMessage());
+                filter = null;
+            }
+        }
+        
+        boolean changed = false;
+        if (filter != null && sourceLength <= fileLength) {
+            if (sourceLength < fileLength) {
+                // Accounts registered since the filter was written
+                try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                    raf.seek(sourceLength);
+                    addUsernames(filter, new BufferedReader(new InputStreamReader(
+                        Channels.newInputStream(raf.getChannel()))));
+                } catch (IOException e) {
+                    System.err.println("Error reading new accounts: " + e.getMessage());
+                    filter = null;
+                }
+                changed = true;
+            }
+        } else {
+            filter = null; // Missing, unreadable, or the account file was rewritten shorter
+        }
+        
+        if (filter == null || filter.isFull()) {
+            filter = buildUsernameFilter(file);
+            if (filter == null) {
+                return; // Fall back to loading accounts
+            }
+            changed = true;
+        }
+        
+        usernameFilter = filter;
+        usernameFilterSourceLength = fileLength;
+        if (changed) {
+            saveUsernameFilter();
+        }
+    }
+    
+    /**
+     * Builds the username filter from the account file, sized for twice the current accounts
+     */
+    private static BloomFilter buildUsernameFilter(File file) {
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            while (reader.readLine() != null) {
+                count++;
+            }
+        } catch (IOException e) {
+            System.err.println("Error building username filter: " + e.getMessage());
+            return null;
+        }
+        
+        BloomFilter filter = new BloomFilter(Math.max(USERNAME_FILTER_MIN_KEYS, count * 2),
+                                             USERNAME_FILTER_FALSE_POSITIVE_RATE);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            addUsernames(filter, reader);
+        } catch (IOException e) {
+            System.err.println("Error building username filter: " + e.getMessage());
+            return null;
+        }
+        return filter;
+    }
+    
+    /**
+     * Adds the username of each account line to a filter
+     */
+    private static void addUsernames(BloomFilter filter, BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int end = line.indexOf(DELIMITER);
+            String username = (end >= 0 ? line.substring(0, end) : line).trim();
+            if (!username.isEmpty()) {
+                filter.add(username.toLowerCase());
+            }
+        }
+    }
+    
+    /**
+     * Persists the username filter with the account file length it covers
+     */
+    private static void saveUsernameFilter() {
+        File temp = new File(USERNAME_FILTER_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeLong(usernameFilterSourceLength);
+            usernameFilter.writeTo(out);
+        } catch (IOException e) {
+            System.err.println("Error saving username filter: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), new File(USERNAME_FILTER_FILE).toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving username filter: " + e.getMessage());
+        }
     }
     
     /**
@@ -131,38 +487,266 @@ public class PassengerRepository {
             return false;
         }
         
-        try {
+        return savePassengers(Collections.singletonList(passenger));
+    }
+    
+    /**
+     * Saves several passengers' details with a single append to the file
+     * Also updates the index and cache
+     * 
+     * @param passengers The passengers to save (all must be valid)
+     * @return true if successful, false otherwise (nothing is saved)
+     */
+    public static boolean savePassengers(List<Passenger> passengers) {
+        if (passengers == null || passengers.isEmpty()) {
+            return false;
+        }
+        for (Passenger passenger : passengers) {
+            if (passenger == null || !passenger.isValid()) {
+                return false;
+            }
+        }
+        
+        List<RepositoryListener.Change> changes;
+        synchronized (PassengerRepository.class) {
+            loadProfileIndex();
             File file = new File(PD_FILE);
-            boolean fileExists = file.exists();
+            long offset = file.length(); // 0 if the file does not exist yet
             
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
-                // Write data with delimiter
-                writer.println(String.join(DELIMITER, 
-                    passenger.getUsername(),
-                    passenger.getFirstName(),
-                    passenger.getLastName(),
-                    passenger.getCellphoneNumber(),
-                    passenger.getProvince(),
-                    passenger.getCity(),
-                    passenger.getBarangay(),
-                    passenger.getIdType(),
-                    passenger.getIdNumber()
-                ));
+            List<String> lines;
+            try {
+                lines = appendPassengers(file, passengers);
+            } catch (IOException e) {
+                System.err.println("Error saving passenger: " + e.getMessage());
+                return false;
+            }
+            changes = indexPassengers(passengers, lines, offset);
+        }
+        
+        for (int i = 0; i < passengers.size(); i++) {
+            fireChange(changes.get(i), passengers.get(i));
+        }
+        return true;
+    }
+    
+    /**
+     * Saves several passengers' details together with their accounts
+     * Both files are appended under one lock; if either write fails, both are
+     * cut back to their previous length and no cache or index changes, so a
+     * retry starts from a clean slate
+     * 
+     * @param passengers The passengers to save (all must be valid)
+     * @param accounts Their accounts, carrying stored password records (see saveAccounts)
+     * @return true if successful, false otherwise (nothing is saved)
+     */
+    public static boolean saveRegistrations(List<Passenger> passengers, List<Account> accounts) {
+        if (passengers == null || passengers.isEmpty() || accounts == null || accounts.isEmpty()) {
+            return false;
+        }
+        for (Passenger passenger : passengers) {
+            if (passenger == null || !passenger.isValid()) {
+                return false;
             }
+        }
+        if (!areStorable(accounts)) {
+            return false;
+        }
+        
+        List<RepositoryListener.Change> changes;
+        synchronized (PassengerRepository.class) {
+            loadProfileIndex();
+            File passengerFile = new File(PD_FILE);
+            File accountFile = new File(AF_FILE);
+            long passengerOffset = passengerFile.length();
+            long accountOffset = accountFile.length();
             
-            // Update cache
-            passengerCache.put(passenger.getUsername().toLowerCase(), passenger);
+            List<String> lines;
+            try {
+                lines = appendPassengers(passengerFile, passengers);
+                appendAccounts(accountFile, accounts);
+            } catch (IOException e) {
+                System.err.println("Error saving registrations: " + e.getMessage());
+                truncate(passengerFile, passengerOffset);
+                truncate(accountFile, accountOffset);
+                return false;
+            }
+            changes = indexPassengers(passengers, lines, passengerOffset);
+            cacheAccounts(accounts, accountFile);
+        }
+        
+        for (int i = 0; i < passengers.size(); i++) {
+            fireChange(changes.get(i), passengers.get(i));
+        }
+        return true;
+    }
+    
+    /**
+     * Appends passengers' lines to the details file
+     * @return The lines written, in order
+     */
+    private static List<String> appendPassengers(File file, List<Passenger> passengers) throws IOException {
+        List<String> lines = new ArrayList<>(passengers.size());
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file, true), StandardCharsets.UTF_8)))) {
+            for (Passenger passenger : passengers) {
+                String line = formatPassenger(passenger);
+                lines.add(line);
+                writer.println(line);
+            }
+            if (writer.checkError()) {
+                throw new IOException("write failed");
+            }
+        }
+        return lines;
+    }
+    
+    /**
+     * Adds appended passengers to the index and cache
+     * The persisted index catches up from the file on next load
+     * @return The change to report for each passenger
+     */
+    private static List<RepositoryListener.Change> indexPassengers(List<Passenger> passengers, List<String> lines,
+                                                                   long offset) {
+        List<RepositoryListener.Change> changes = new ArrayList<>(passengers.size());
+        int lineBreakLength = System.lineSeparator().getBytes(StandardCharsets.UTF_8).length;
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger passenger = passengers.get(i);
+            String key = passenger.getUsername().toLowerCase();
+            int length = lines.get(i).getBytes(StandardCharsets.UTF_8).length;
+            boolean existed = profileIndex.containsKey(key);
             
-            return true;
+            putIndexEntry(key, new ProfileEntry(offset, length,
+                normalizeIdentity(passenger.getIdType(), passenger.getIdNumber())));
+            passengerCache.put(key, passenger);
+            offset += length + lineBreakLength;
+            changes.add(existed ? RepositoryListener.Change.UPDATED : RepositoryListener.Change.INSERTED);
+        }
+        return changes;
+    }
+    
+    /**
+     * Cuts a file back to a previous length, dropping a failed append
+     */
+    private static void truncate(File file, long length) {
+        if (!file.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
         } catch (IOException e) {
-            System.err.println("Error saving passenger: " + e.getMessage());
+            System.err.println("Error rolling back " + file.getName() + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Updates a passenger's details in place
+     * The passenger's line is overwritten through the profile index, padded with
+     * spaces if the new details are shorter. If they are longer, the new line is
+     * appended and the old one blanked out. The rest of the file is not touched
+     * 
+     * @param passenger The passenger with updated details (matched by username)
+     * @return true if successful, false if invalid, unknown or not written
+     */
+    public static boolean updatePassenger(Passenger passenger) {
+        if (passenger == null || !passenger.isValid()) {
             return false;
         }
+        
+        synchronized (PassengerRepository.class) {
+            loadProfileIndex();
+            String key = passenger.getUsername().toLowerCase();
+            ProfileEntry entry = profileIndex.get(key);
+            if (entry == null) {
+                return false;
+            }
+            
+            byte[] line = formatPassenger(passenger).getBytes(StandardCharsets.UTF_8);
+            long offset = entry.offset;
+            int length = entry.length;
+            try (FileChannel channel = FileChannel.open(new File(PD_FILE).toPath(), StandardOpenOption.WRITE)) {
+                if (line.length <= entry.length) {
+                    writeFully(channel, padded(line, entry.length), entry.offset);
+                } else {
+                    // Append first, so a crash leaves the new line (the latest wins when indexing)
+                    offset = channel.size();
+                    length = line.length;
+                    byte[] lineBreak = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+                    byte[] appended = Arrays.copyOf(line, line.length + lineBreak.length);
+                    System.arraycopy(lineBreak, 0, appended, line.length, lineBreak.length);
+                    writeFully(channel, appended, offset);
+                    writeFully(channel, padded(new byte[0], entry.length), entry.offset);
+                }
+            } catch (IOException e) {
+                System.err.println("Error updating passenger: " + e.getMessage());
+                return false;
+            }
+            
+            putIndexEntry(key, new ProfileEntry(offset, length,
+                normalizeIdentity(passenger.getIdType(), passenger.getIdNumber())));
+            passengerCache.put(key, passenger);
+            // An in-place rewrite does not change the file length, so the persisted index is saved now
+            saveProfileIndex(new File(PD_FILE).length());
+        }
+        
+        fireChange(RepositoryListener.Change.UPDATED, passenger);
+        return true;
+    }
+    
+    /**
+     * Gets the username registered with an ID
+     * Uses the identity index for O(1) lookup
+     * 
+     * @param idType The ID type (e.g. "Passport")
+     * @param idNumber The ID number (case, spaces and dashes are ignored)
+     * @return The lowercase username, or null if the ID is not registered
+     */
+    public static synchronized String getUsernameByIdentity(String idType, String idNumber) {
+        String identity = normalizeIdentity(idType, idNumber);
+        if (identity.isEmpty()) {
+            return null;
+        }
+        
+        loadProfileIndex();
+        return identityIndex.get(identity);
+    }
+    
+    /**
+     * Formats a passenger as a line of the details file
+     */
+    private static String formatPassenger(Passenger passenger) {
+        // Write data with delimiter
+        return String.join(DELIMITER, 
+            passenger.getUsername(),
+            passenger.getFirstName(),
+            passenger.getLastName(),
+            passenger.getCellphoneNumber(),
+            passenger.getProvince(),
+            passenger.getCity(),
+            passenger.getBarangay(),
+            passenger.getIdType(),
+            passenger.getIdNumber()
+        );
+    }
+    
+    /**
+     * Pads a line with spaces (trimmed away when parsed) to a byte length
+     */
+    private static byte[] padded(byte[] line, int length) {
+        byte[] result = Arrays.copyOf(line, length);
+        Arrays.fill(result, line.length, length, (byte) ' ');
+        return result;
+    }
+    
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
     }
     
     /**
      * Saves account information to file
-     * Password is encrypted before saving
+     * Password is hashed before saving
      * Also updates the cache
      * 
      * @param account The account object to save
@@ -173,46 +757,164 @@ public class PassengerRepository {
             return false;
         }
         
+        // Hash password
+        String passwordHash = PasswordHasher.hash(account.getPassword());
+        account.setEncryptedPassword(passwordHash);
+        
+        return saveAccounts(Collections.singletonList(account));
+    }
+    
+    /**
+     * Saves several accounts with a single append to the file
+     * Accounts must already carry their stored password record (see PasswordHasher),
+     * so callers can hash in parallel beforehand
+     * Also updates the cache and username filter
+     * 
+     * @param accounts The accounts to save
+     * @return true if successful, false otherwise (nothing is saved)
+     */
+    public static synchronized boolean saveAccounts(List<Account> accounts) {
+        if (accounts == null || accounts.isEmpty() || !areStorable(accounts)) {
+            return false;
+        }
+        
+        File file = new File(AF_FILE);
         try {
-            // Encrypt password
-            String encryptedPassword = PasswordEncryption.encrypt(account.getPassword());
-            account.setEncryptedPassword(encryptedPassword);
-            
-            File file = new File(AF_FILE);
-            boolean fileExists = file.exists();
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+            appendAccounts(file, accounts);
+        } catch (IOException e) {
+            System.err.println("Error saving account: " + e.getMessage());
+            return false;
+        }
+        cacheAccounts(accounts, file);
+        return true;
+    }
+    
+    /**
+     * Checks that every account has a username and a stored password record
+     */
+    private static boolean areStorable(List<Account> accounts) {
+        for (Account account : accounts) {
+            if (account == null || account.getUsername() == null || account.getUsername().trim().isEmpty()
+                    || !PasswordHasher.isHashed(account.getEncryptedPassword())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Appends accounts' lines to the account file
+     */
+    private static void appendAccounts(File file, List<Account> accounts) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file, true)))) {
+            for (Account account : accounts) {
                 // Write data with delimiter
                 writer.println(String.join(DELIMITER, 
                     account.getUsername(),
                     account.getEncryptedPassword()
                 ));
             }
-            
+            if (writer.checkError()) {
+                throw new IOException("write failed");
+            }
+        }
+    }
+    
+    /**
+     * Adds appended accounts to the cache and username filter
+     */
+    private static void cacheAccounts(List<Account> accounts, File file) {
+        for (Account account : accounts) {
             // Update cache
             accountCache.put(account.getUsername().toLowerCase(), account);
             
-            return true;
+            // The persisted filter catches up from the file on next load
+            if (usernameFilter != null) {
+                usernameFilter.add(account.getUsername().toLowerCase());
+            }
+        }
+        if (usernameFilter != null) {
+            usernameFilterSourceLength = file.length();
+        }
+    }
+    
+    /**
+     * Replaces the stored password record of an account
+     * Used to upgrade legacy or weaker records after a successful login
+     * 
+     * @param username The account's username
+     * @param passwordHash The new stored record (see PasswordHasher)
+     * @return true if successful, false otherwise
+     */
+    public static synchronized boolean updatePasswordHash(String username, String passwordHash) {
+        Account account = getAccountByUsername(username);
+        if (account == null || passwordHash == null || passwordHash.isEmpty()) {
+            return false;
+        }
+        
+        // Usernames are unchanged, but the filter records how much of the file it covers
+        loadUsernameFilter();
+        
+        String previousHash = account.getEncryptedPassword();
+        account.setEncryptedPassword(passwordHash);
+        
+        // Rewrite the accounts aside and move them into place, so a failed write
+        // leaves the old file intact
+        File temp = new File(AF_FILE + ".tmp");
+        try {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(temp))) {
+                for (Account cached : accountCache.values()) {
+                    writer.println(String.join(DELIMITER,
+                        cached.getUsername(),
+                        cached.getEncryptedPassword()
+                    ));
+                }
+                if (writer.checkError()) {
+                    throw new IOException("write failed");
+                }
+            }
+            Files.move(temp.toPath(), new File(AF_FILE).toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
-            System.err.println("Error saving account: " + e.getMessage());
+            System.err.println("Error updating account: " + e.getMessage());
+            temp.delete();
+            account.setEncryptedPassword(previousHash);
             return false;
         }
+        
+        if (usernameFilter != null) {
+            usernameFilterSourceLength = new File(AF_FILE).length();
+            saveUsernameFilter();
+        }
+        return true;
     }
     
     /**
      * Retrieves a passenger by username
-     * Uses cache for O(1) lookup
+     * Recently used profiles come from the cache; others are read through the index
      * 
      * @param username The username to search for
      * @return Passenger object if found, null otherwise
      */
-    public static Passenger getPassengerByUsername(String username) {
+    public static synchronized Passenger getPassengerByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             return null;
         }
         
-        loadCache();
-        return passengerCache.get(username.trim().toLowerCase());
+        loadProfileIndex();
+        String key = username.trim().toLowerCase();
+        Passenger passenger = passengerCache.get(key);
+        if (passenger == null) {
+            ProfileEntry entry = profileIndex.get(key);
+            if (entry == null) {
+                return null;
+            }
+            passenger = readProfile(entry);
+            if (passenger != null) {
+                passengerCache.put(key, passenger);
+            }
+        }
+        return passenger;
     }
     
     /**
@@ -222,12 +924,12 @@ public class PassengerRepository {
      * @param username The username to search for
      * @return Account object if found, null otherwise
      */
-    public static Account getAccountByUsername(String username) {
+    public static synchronized Account getAccountByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             return null;
         }
         
-        loadCache();
+        loadAccountCache();
         return accountCache.get(username.trim().toLowerCase());
     }
     
@@ -236,18 +938,52 @@ public class PassengerRepository {
      * 
      * @return List of all usernames
      */
-    public static List<String> getAllUsernames() {
-        loadCache();
+    public static synchronized List<String> getAllUsernames() {
+        loadAccountCache();
         return new ArrayList<>(accountCache.keySet());
     }
     
+    /**
+     * Registers a listener for passenger detail changes
+     * @param listener The listener
+     */
+    public static void addListener(RepositoryListener<Passenger> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregisters a passenger change listener
+     * @param listener The listener
+     */
+    public static void removeListener(RepositoryListener<Passenger> listener) {
+        listeners.remove(listener);
+    }
+    
+    private static void fireChange(RepositoryListener.Change change, Passenger passenger) {
+        for (RepositoryListener<Passenger> listener : listeners) {
+            listener.onChange(change, passenger);
+        }
+    }
+    
     /**
      * Clears the cache (useful for testing or when files are modified externally)
      */
-    public static void clearCache() {
+    public static synchronized void clearCache() {
         accountCache.clear();
         passengerCache.clear();
-        cacheLoaded = false;
+        profileIndex.clear();
+        identityIndex.clear();
+        accountsLoaded = false;
+        profileIndexLoaded = false;
+        if (profileFile != null) {
+            try {
+                profileFile.close();
+            } catch (IOException e) {
+                System.err.println("Error closing passenger file: " + e.getMessage());
+            }
+            profileFile = null;
+        }
+        usernameFilter = null;
     }
 }
 
@@ -0,0 +1,25 @@
+package kingsman.upair.repository;
+
+/**
+ * Listener notified after a repository successfully persists a change
+ * Notifications are delivered on the thread that made the change, so Swing
+ * listeners must hand them over to the EDT themselves
+ */
+public interface RepositoryListener<T> {
+
+    /**
+     * Kind of change made to a stored item
+     */
+    enum Change {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Called after an item was inserted, updated or deleted
+     * @param change The kind of change
+     * @param item The item as stored (the removed item for deletions)
+     */
+    void onChange(Change change, T item);
+}
@@ -7,11 +7,13 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Repository class for managing schedule data persistence
  * Follows Repository Pattern and Single Responsibility Principle
  * Uses data structures for efficient data management
+ * Thread-safe: the cache is guarded by the class lock; listeners are notified outside the lock
  */
 public class ScheduleRepository {
     
@@ -24,16 +26,20 @@ public class ScheduleRepository {
     private static final Map<String, Schedule> scheduleCache = new HashMap<>();
     private static boolean cacheLoaded = false;
     
+    // Change listeners (e.g. table models)
+    private static final List<RepositoryListener<Schedule>> listeners = new CopyOnWriteArrayList<>();
+    
     /**
      * Loads all schedules from file into memory cache
      */
-    private static void loadCache() {
+    private static synchronized void loadCache() {
         if (cacheLoaded) {
             return;
         }
         
         File file = new File(SCHEDULE_FILE);
         if (!file.exists()) {
+            cacheLoaded = true;
             return;
         }
         
@@ -59,6 +65,7 @@ public class ScheduleRepository {
         } catch (IOException e) {
             System.err.println("Error loading schedules: " + e.getMessage());
         }
+        cacheLoaded = true;
     }
     
     /**
@@ -66,7 +73,7 @@ public class ScheduleRepository {
      * Format: SCH-YYYYMMDD-HHMMSS-XXXX (where XXXX is random)
      * @return Unique schedule ID
      */
-    public static String generateScheduleId() {
+    public static synchronized String generateScheduleId() {
         loadCache();
         String baseId;
         Random random = new Random();
@@ -99,37 +106,40 @@ public class ScheduleRepository {
             schedule.setScheduleId(generateScheduleId());
         }
         
-        loadCache();
-        
-        // Check for duplicate schedule ID
-        if (scheduleCache.containsKey(schedule.getScheduleId())) {
-            return false; // Duplicate ID
-        }
-        
-        try {
-            File file = new File(SCHEDULE_FILE);
-            boolean fileExists = file.exists();
+        synchronized (ScheduleRepository.class) {
+            loadCache();
             
-            try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
-                writer.println(String.join(DELIMITER,
-                    schedule.getScheduleId(),
-                    schedule.getAirline(),
-                    schedule.getFlightCode(),
-                    schedule.getOrigin(),
-                    schedule.getDestination(),
-                    schedule.getDepartureDate().format(DATE_FORMATTER),
-                    schedule.getDepartureTime().format(TIME_FORMATTER)
-                ));
+            // Check for duplicate schedule ID
+            if (scheduleCache.containsKey(schedule.getScheduleId())) {
+                return false; // Duplicate ID
             }
             
-            // Update cache
-            scheduleCache.put(schedule.getScheduleId(), schedule);
-            
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error saving schedule: " + e.getMessage());
-            return false;
+            try {
+                File file = new File(SCHEDULE_FILE);
+                boolean fileExists = file.exists();
+                
+                try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+                    writer.println(String.join(DELIMITER,
+                        schedule.getScheduleId(),
+                        schedule.getAirline(),
+                        schedule.getFlightCode(),
+                        schedule.getOrigin(),
+                        schedule.getDestination(),
+                        schedule.getDepartureDate().format(DATE_FORMATTER),
+                        schedule.getDepartureTime().format(TIME_FORMATTER)
+                    ));
+                }
+                
+                // Update cache
+                scheduleCache.put(schedule.getScheduleId(), schedule);
+            } catch (IOException e) {
+                System.err.println("Error saving schedule: " + e.getMessage());
+                return false;
+            }
         }
+        
+        fireChange(RepositoryListener.Change.INSERTED, schedule);
+        return true;
     }
     
     /**
@@ -142,41 +152,44 @@ public class ScheduleRepository {
             return false;
         }
         
-        loadCache();
-        if (!scheduleCache.containsKey(schedule.getScheduleId())) {
-            return false; // Schedule doesn't exist
-        }
-        
-        // Reload all schedules, update the one we need, and rewrite
-        List<Schedule> schedules = getAllSchedules();
-        for (int i = 0; i < schedules.size(); i++) {
-            if (schedules.get(i).getScheduleId().equals(schedule.getScheduleId())) {
-                schedules.set(i, schedule);
-                break;
+        synchronized (ScheduleRepository.class) {
+            loadCache();
+            if (!scheduleCache.containsKey(schedule.getScheduleId())) {
+                return false; // Schedule doesn't exist
             }
-        }
-        
-        // Rewrite file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(SCHEDULE_FILE))) {
-            for (Schedule s : schedules) {
-                writer.println(String.join(DELIMITER,
-                    s.getScheduleId(),
-                    s.getAirline(),
-                    s.getFlightCode(),
-                    s.getOrigin(),
-                    s.getDestination(),
-                    s.getDepartureDate().format(DATE_FORMATTER),
-                    s.getDepartureTime().format(TIME_FORMATTER)
-                ));
+            
+            // Reload all schedules, update the one we need, and rewrite
+            List<Schedule> schedules = getAllSchedules();
+            for (int i = 0; i < schedules.size(); i++) {
+                if (schedules.get(i).getScheduleId().equals(schedule.getScheduleId())) {
+                    schedules.set(i, schedule);
+                    break;
+                }
             }
-        } catch (IOException e) {
-            System.err.println("Error updating schedule: " + e.getMessage());
-            return false;
+            
+            // Rewrite file
+            try (PrintWriter writer = new PrintWriter(new FileWriter(SCHEDULE_FILE))) {
+                for (Schedule s : schedules) {
+                    writer.println(String.join(DELIMITER,
+                        s.getScheduleId(),
+                        s.getAirline(),
+                        s.getFlightCode(),
+                        s.getOrigin(),
+                        s.getDestination(),
+                        s.getDepartureDate().format(DATE_FORMATTER),
+                        s.getDepartureTime().format(TIME_FORMATTER)
+                    ));
+                }
+            } catch (IOException e) {
+                System.err.println("Error updating schedule: " + e.getMessage());
+                return false;
+            }
+            
+            // Update cache
+            scheduleCache.put(schedule.getScheduleId(), schedule);
         }
         
-        // Update cache
-        scheduleCache.put(schedule.getScheduleId(), schedule);
-        
+        fireChange(RepositoryListener.Change.UPDATED, schedule);
         return true;
     }
     
@@ -190,36 +203,40 @@ public class ScheduleRepository {
             return false;
         }
         
-        loadCache();
-        if (!scheduleCache.containsKey(scheduleId)) {
-            return false; // Schedule doesn't exist
-        }
-        
-        // Reload all schedules, remove the one we need, and rewrite
-        List<Schedule> schedules = getAllSchedules();
-        schedules.removeIf(s -> s.getScheduleId().equals(scheduleId));
-        
-        // Rewrite file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(SCHEDULE_FILE))) {
-            for (Schedule s : schedules) {
-                writer.println(String.join(DELIMITER,
-                    s.getScheduleId(),
-                    s.getAirline(),
-                    s.getFlightCode(),
-                    s.getOrigin(),
-                    s.getDestination(),
-                    s.getDepartureDate().format(DATE_FORMATTER),
-                    s.getDepartureTime().format(TIME_FORMATTER)
-                ));
+        Schedule removed;
+        synchronized (ScheduleRepository.class) {
+            loadCache();
+            if (!scheduleCache.containsKey(scheduleId)) {
+                return false; // Schedule doesn't exist
             }
-        } catch (IOException e) {
-            System.err.println("Error deleting schedule: " + e.getMessage());
-            return false;
+            
+            // Reload all schedules, remove the one we need, and rewrite
+            List<Schedule> schedules = getAllSchedules();
+            schedules.removeIf(s -> s.getScheduleId().equals(scheduleId));
+            
+            // Rewrite file
+            try (PrintWriter writer = new PrintWriter(new FileWriter(SCHEDULE_FILE))) {
+                for (Schedule s : schedules) {
+                    writer.println(String.join(DELIMITER,
+                        s.getScheduleId(),
+                        s.getAirline(),
+                        s.getFlightCode(),
+                        s.getOrigin(),
+                        s.getDestination(),
+                        s.getDepartureDate().format(DATE_FORMATTER),
+                        s.getDepartureTime().format(TIME_FORMATTER)
+                    ));
+                }
+            } catch (IOException e) {
+                System.err.println("Error deleting schedule: " + e.getMessage());
+                return false;
+            }
+            
+            // Update cache
+            removed = scheduleCache.remove(scheduleId);
         }
         
-        // Update cache
-        scheduleCache.remove(scheduleId);
-        
+        fireChange(RepositoryListener.Change.DELETED, removed);
         return true;
     }
     
@@ -227,7 +244,7 @@ public class ScheduleRepository {
      * Gets all schedules
      * @return List of all schedules
      */
-    public static List<Schedule> getAllSchedules() {
+    public static synchronized List<Schedule> getAllSchedules() {
         loadCache();
         return new ArrayList<>(scheduleCache.values());
     }
@@ -237,7 +254,7 @@ public class ScheduleRepository {
      * @param airline The airline name
      * @return List of schedules for the airline
      */
-    public static List<Schedule> getSchedulesByAirline(String airline) {
+    public static synchronized List<Schedule> getSchedulesByAirline(String airline) {
         loadCache();
         List<Schedule> result = new ArrayList<>();
         for (Schedule schedule : scheduleCache.values()) {
@@ -253,11 +270,27 @@ public class ScheduleRepository {
      * @param scheduleId The schedule ID
      * @return Schedule object if found, null otherwise
      */
-    public static Schedule getScheduleById(String scheduleId) {
+    public static synchronized Schedule getScheduleById(String scheduleId) {
         loadCache();
         return scheduleCache.get(scheduleId);
     }
     
+    /**
+     * Gets the schedule of a flight code on a departure date
+     * @param flightCode The flight code
+     * @param date The departure date
+     * @return Schedule object if found, null otherwise
+     */
+    public static synchronized Schedule getScheduleByFlightAndDate(String flightCode, LocalDate date) {
+        loadCache();
+        for (Schedule schedule : scheduleCache.values()) {
+            if (schedule.getFlightCode().equals(flightCode) && schedule.getDepartureDate().equals(date)) {
+                return schedule;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Gets flight codes for a specific airline
      * @param airline The airline name
@@ -281,10 +314,32 @@ public class ScheduleRepository {
         return FlightRepository.getFlightByCode(flightCode);
     }
     
+    /**
+     * Registers a listener for schedule changes
+     * @param listener The listener
+     */
+    public static void addListener(RepositoryListener<Schedule> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregisters a schedule change listener
+     * @param listener The listener
+     */
+    public static void removeListener(RepositoryListener<Schedule> listener) {
+        listeners.remove(listener);
+    }
+    
+    private static void fireChange(RepositoryListener.Change change, Schedule schedule) {
+        for (RepositoryListener<Schedule> listener : listeners) {
+            listener.onChange(change, schedule);
+        }
+    }
+    
     /**
      * Clears the cache
      */
-    public static void clearCache() {
+    public static synchronized void clearCache() {
         scheduleCache.clear();
         cacheLoaded = false;
     }
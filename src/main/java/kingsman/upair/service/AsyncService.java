@@ -0,0 +1,147 @@
+package kingsman.upair.service;
+
+import javax.swing.JComponent;
+import javax.swing.RootPaneContainer;
+import javax.swing.SwingUtilities;
+import java.awt.Cursor;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Service facade for running repository and service calls off the Swing EDT
+ * Work runs on virtual threads; the returned futures always complete on the EDT,
+ * so callers can update components directly in thenAccept/whenComplete
+ *
+ * Repositories guard their own caches, so background tasks run concurrently
+ * with each other and with EDT code. Cancelling a future only stops a task
+ * that has not started yet; a running task is never interrupted, since an
+ * interrupt would close any NIO channel it is reading. Long tasks can poll
+ * isCurrentTaskCancelled() instead
+ */
+public class AsyncService {
+
+    private static final String BUSY_COUNT_PROPERTY = "upair.busyCount";
+
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Latest request per key, so a newer request can supersede a stale one
+    private static final Map<String, CompletableFuture<?>> latestRequests = new ConcurrentHashMap<>();
+
+    // Future of the background task running on the current thread
+    private static final ThreadLocal<CompletableFuture<?>> currentTask = new ThreadLocal<>();
+
+    /**
+     * Runs a task in the background
+     * @param task The task (must not touch Swing components)
+     * @return Future completed on the EDT with the task result
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            currentTask.set(result);
+            try {
+                if (result.isDone()) {
+                    return; // Cancelled before it started
+                }
+                T value = task.get();
+                SwingUtilities.invokeLater(() -> result.complete(value));
+            } catch (Throwable t) {
+                SwingUtilities.invokeLater(() -> result.completeExceptionally(t));
+            } finally {
+                currentTask.remove();
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                running.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a task in the background, cancelling any earlier request with the same key
+     * The superseded future completes with a CancellationException and never delivers its result
+     * @param key Request key (e.g. "flightOverview")
+     * @param task The task (must not touch Swing components)
+     * @return Future completed on the EDT with the task result
+     */
+    public static <T> CompletableFuture<T> supplyLatest(String key, Supplier<T> task) {
+        CompletableFuture<T> result = supply(task);
+        CompletableFuture<?> previous = latestRequests.put(key, result);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        result.whenComplete((value, error) -> latestRequests.remove(key, result));
+        return result;
+    }
+
+    /**
+     * Runs a task in the background while showing a busy cursor on a window
+     * Must be called on the EDT
+     * @param window The frame or dialog to mark busy
+     * @param key Request key for superseding, or null to run unkeyed
+     * @param task The task (must not touch Swing components)
+     * @return Future completed on the EDT with the task result
+     */
+    public static <T> CompletableFuture<T> supply(RootPaneContainer window, String key, Supplier<T> task) {
+        setBusy(window, true);
+        CompletableFuture<T> result = key != null ? supplyLatest(key, task) : supply(task);
+        result.whenComplete((value, error) -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                setBusy(window, false);
+            } else {
+                SwingUtilities.invokeLater(() -> setBusy(window, false));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Checks whether the background task running on this thread was cancelled or superseded
+     * Long-running tasks poll this to stop early, as they are never interrupted
+     * @return true if the task's future was cancelled; false outside a background task
+     */
+    public static boolean isCurrentTaskCancelled() {
+        CompletableFuture<?> task = currentTask.get();
+        return task != null && task.isCancelled();
+    }
+
+    /**
+     * Checks whether a failure is only a superseded request
+     * @param error The failure passed to whenComplete/exceptionally
+     * @return true if the request was cancelled
+     */
+    public static boolean isCancelled(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof CancellationException;
+    }
+
+    /**
+     * Unwraps the underlying failure of a background task
+     * @param error The failure passed to whenComplete/exceptionally
+     * @return The original exception
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Tracks nested busy requests per window and toggles the wait cursor
+     */
+    private static void setBusy(RootPaneContainer window, boolean busy) {
+        JComponent rootPane = window.getRootPane();
+        Object current = rootPane.getClientProperty(BUSY_COUNT_PROPERTY);
+        int count = (current instanceof Integer ? (Integer) current : 0) + (busy ? 1 : -1);
+        count = Math.max(0, count);
+        rootPane.putClientProperty(BUSY_COUNT_PROPERTY, count);
+        rootPane.setCursor(count > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+}
@@ -0,0 +1,266 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.BookingView;
+import kingsman.upair.repository.BookingViewRepository;
+import kingsman.upair.repository.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+/**
+ * Service class for search-as-you-type over bookings
+ * Matches booking ID, passenger name and flight code using two in-memory indexes
+ * kept in step with the booking views:
+ * - a sorted token index for short queries (prefix of a booking ID, flight code or name word)
+ * - a trigram index for longer queries (any substring); candidates come from the
+ *   query's rarest trigram, so a query only touches the bookings that share it
+ *
+ * Postings are compact int lists of booking ordinals. A changed booking is simply
+ * indexed again under its new text: stale postings are filtered out because every
+ * candidate is verified against its current indexed text, and the indexes are
+ * rebuilt from the current texts once stale entries pile up
+ *
+ * A search run through AsyncService stops early once it is superseded
+ */
+public class BookingSearchService {
+
+    private static final int GRAM_LENGTH = 3;
+    // Candidates verified between cancellation checks
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    // Rebuild once this many bookings (and at least a quarter of all) have stale postings
+    private static final int MIN_STALE_FOR_COMPACTION = 1024;
+
+    // Token -> booking ordinals (booking ID, flight code and each name word, lowercase)
+    private static final NavigableMap<String, IntList> tokenIndex = new TreeMap<>();
+    // Trigram -> booking ordinals
+    private static final Map<String, IntList> gramIndex = new HashMap<>();
+    // Ordinal <-> booking ID, and current indexed text per ordinal (null once deleted)
+    private static final Map<String, Integer> ordinals = new HashMap<>();
+    private static final List<String> bookingIds = new ArrayList<>();
+    private static final List<String> searchText = new ArrayList<>();
+    // Ordinals whose postings include entries for text they no longer have
+    private static int staleCount = 0;
+    private static boolean indexLoaded = false;
+
+    /**
+     * Growable list of booking ordinals
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return; // Same booking, repeated gram or token
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    static {
+        BookingViewRepository.addListener(BookingSearchService::onViewChange);
+    }
+
+    /**
+     * Finds bookings matching a query
+     * @param query Text typed by the user (case-insensitive)
+     * @param filter Which bookings may be returned (e.g. only those awaiting approval)
+     * @param limit Maximum number of results
+     * @return Matching booking views, empty for a blank query
+     * @throws CancellationException if the calling background task is superseded
+     */
+    public static synchronized List<BookingView> search(String query, Predicate<BookingView> filter, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        loadIndex();
+        Map<String, BookingView> matches = new LinkedHashMap<>();
+        if (normalized.length() < GRAM_LENGTH) {
+            // Token prefix: the current text must still contain a token starting with it
+            String tokenStart = " " + normalized;
+            for (IntList postings : tokenIndex.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+                if (collect(postings, tokenStart, filter, limit, matches)) {
+                    break;
+                }
+            }
+        } else {
+            IntList rarest = null;
+            for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+                IntList postings = gramIndex.get(normalized.substring(i, i + GRAM_LENGTH));
+                if (postings == null) {
+                    return Collections.emptyList(); // Some trigram never occurs
+                }
+                if (rarest == null || postings.size < rarest.size) {
+                    rarest = postings;
+                }
+            }
+            collect(rarest, normalized, filter, limit, matches);
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Verifies candidates against their current text and adds those passing the filter
+     * @return true once the limit is reached
+     */
+    private static boolean collect(IntList postings, String mustContain, Predicate<BookingView> filter, int limit,
+                                   Map<String, BookingView> matches) {
+        for (int i = 0; i < postings.size; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && AsyncService.isCurrentTaskCancelled()) {
+                throw new CancellationException("Search superseded");
+            }
+            int ordinal = postings.values[i];
+            String text = searchText.get(ordinal);
+            String bookingId = bookingIds.get(ordinal);
+            if (text == null || !text.contains(mustContain) || matches.containsKey(bookingId)) {
+                continue;
+            }
+            BookingView view = BookingViewRepository.getViewByBookingId(bookingId);
+            if (view == null || (filter != null && !filter.test(view))) {
+                continue;
+            }
+            matches.put(bookingId, view);
+            if (matches.size() >= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the indexes from the booking views (once)
+     * Called by the first search, or ahead of time during startup warm-up
+     */
+    public static synchronized void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        for (BookingView view : BookingViewRepository.getAllViews()) {
+            index(view);
+        }
+        indexLoaded = true;
+    }
+
+    private static synchronized void onViewChange(RepositoryListener.Change change, BookingView view) {
+        if (!indexLoaded) {
+            return; // Built from the views on first search
+        }
+        if (change == RepositoryListener.Change.DELETED) {
+            Integer ordinal = ordinals.get(view.getBookingId());
+            if (ordinal != null && searchText.get(ordinal) != null) {
+                searchText.set(ordinal, null);
+                staleCount++;
+            }
+        } else {
+            index(view);
+        }
+        if (staleCount >= MIN_STALE_FOR_COMPACTION && staleCount * 4 >= bookingIds.size()) {
+            compact();
+        }
+    }
+
+    private static void index(BookingView view) {
+        String bookingId = view.getBookingId();
+        Integer ordinal = ordinals.get(bookingId);
+        if (ordinal == null) {
+            ordinal = bookingIds.size();
+            ordinals.put(bookingId, ordinal);
+            bookingIds.add(bookingId);
+            searchText.add(null);
+        }
+
+        List<String> tokens = new ArrayList<>();
+        tokens.add(normalize(bookingId));
+        tokens.add(normalize(view.getFlightCode()));
+        for (String word : normalize(view.getPassengerName()).split(" ")) {
+            tokens.add(word);
+        }
+
+        // Leading space so token prefixes can be verified with contains(" " + prefix)
+        String text = " " + String.join(" ", tokens);
+        String previous = searchText.get(ordinal);
+        if (text.equals(previous)) {
+            return; // Searchable fields unchanged (e.g. a status change)
+        }
+        if (previous != null) {
+            staleCount++; // Postings for the old text stay behind
+        }
+        searchText.set(ordinal, text);
+        addPostings(ordinal, text);
+    }
+
+    /**
+     * Adds the token and trigram postings of an indexed text
+     */
+    private static void addPostings(int ordinal, String text) {
+        for (String token : text.substring(1).split(" ")) {
+            if (!token.isEmpty()) {
+                tokenIndex.computeIfAbsent(token, k -> new IntList()).add(ordinal);
+            }
+        }
+        for (int i = 1; i + GRAM_LENGTH <= text.length(); i++) {
+            gramIndex.computeIfAbsent(text.substring(i, i + GRAM_LENGTH), k -> new IntList()).add(ordinal);
+        }
+    }
+
+    /**
+     * Rebuilds the indexes from the current texts, dropping stale postings and deleted bookings
+     */
+    private static void compact() {
+        List<String> liveIds = new ArrayList<>();
+        List<String> liveTexts = new ArrayList<>();
+        for (int ordinal = 0; ordinal < bookingIds.size(); ordinal++) {
+            if (searchText.get(ordinal) != null) {
+                liveIds.add(bookingIds.get(ordinal));
+                liveTexts.add(searchText.get(ordinal));
+            }
+        }
+
+        tokenIndex.clear();
+        gramIndex.clear();
+        ordinals.clear();
+        bookingIds.clear();
+        searchText.clear();
+        for (int ordinal = 0; ordinal < liveIds.size(); ordinal++) {
+            ordinals.put(liveIds.get(ordinal), ordinal);
+            bookingIds.add(liveIds.get(ordinal));
+            searchText.add(liveTexts.get(ordinal));
+            addPostings(ordinal, liveTexts.get(ordinal));
+        }
+        staleCount = 0;
+    }
+
+    /**
+     * Lowercases and collapses whitespace
+     */
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Clears the indexes so they are rebuilt on next search
+     */
+    public static synchronized void clearCache() {
+        tokenIndex.clear();
+        gramIndex.clear();
+        ordinals.clear();
+        bookingIds.clear();
+        searchText.clear();
+        staleCount = 0;
+        indexLoaded = false;
+    }
+}
@@ -0,0 +1,321 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.Account;
+import kingsman.upair.model.Passenger;
+import kingsman.upair.repository.PassengerRepository;
+import kingsman.upair.utils.PasswordHasher;
+import kingsman.upair.utils.ValidationUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for importing passenger lists from group and corporate clients
+ * Streams a CSV file in chunks: each chunk is validated in parallel with the
+ * same rules as single registration, checked for taken usernames and IDs
+ * (against the repository indexes and earlier rows of the file), and the
+ * passwords of the rows that pass are hashed in parallel (plain text passwords
+ * are dropped once hashed). Accepted passengers and accounts are then written
+ * together with one append per file, all or nothing
+ *
+ * Columns: username, password, first name, last name, cellphone number,
+ * province, city, barangay, ID type, ID number. A header row is skipped.
+ * Fields may be quoted ("..."), with "" for a quote inside a field
+ *
+ * Rows are checked against the repositories before any is saved, so run one
+ * import at a time, off the EDT
+ */
+public class BulkImportService {
+
+    private static final int COLUMN_COUNT = 10;
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * One parsed CSV row on its way through the pipeline
+     */
+    private static class Row {
+        final int lineNumber;
+        final List<String> fields;
+        Passenger passenger;
+        Account account;
+        String error;
+
+        Row(int lineNumber, List<String> fields, String error) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Imports passengers from a CSV file (UTF-8)
+     * @param file The CSV file
+     * @return The import report
+     */
+    public static ImportReport importPassengers(File file) {
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return importPassengers(reader);
+        } catch (IOException e) {
+            System.err.println("Error reading import file: " + e.getMessage());
+            return new ImportReport(0, 0, Collections.emptyList(), "Could not read " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imports passengers from CSV text
+     * @param csv The CSV source (closed by the caller)
+     * @return The import report
+     * @throws IOException If reading the source fails
+     */
+    public static ImportReport importPassengers(Reader csv) throws IOException {
+        BufferedReader reader = new BufferedReader(csv);
+        List<RowError> errors = new ArrayList<>();
+        List<Passenger> passengers = new ArrayList<>();
+        List<Account> accounts = new ArrayList<>();
+        Set<String> fileUsernames = new HashSet<>();
+        Set<String> fileIdentities = new HashSet<>();
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        int rowCount = 0;
+        int lineNumber = 0;
+        boolean firstRow = true;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> fields = parseCsvLine(line);
+            if (firstRow) {
+                firstRow = false;
+                if (fields != null && !fields.isEmpty() && fields.get(0).equalsIgnoreCase("username")) {
+                    continue; // Header
+                }
+            }
+
+            rowCount++;
+            if (fields == null) {
+                chunk.add(new Row(lineNumber, null, "Unbalanced quotes"));
+            } else if (fields.size() != COLUMN_COUNT) {
+                chunk.add(new Row(lineNumber, fields,
+                    "Expected " + COLUMN_COUNT + " columns but found " + fields.size()));
+            } else {
+                chunk.add(new Row(lineNumber, fields, null));
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, fileUsernames, fileIdentities, passengers, accounts, errors);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, fileUsernames, fileIdentities, passengers, accounts, errors);
+
+        if (passengers.isEmpty()) {
+            return new ImportReport(rowCount, 0, errors, null);
+        }
+        // Details and accounts are saved together, or neither is
+        if (!PassengerRepository.saveRegistrations(passengers, accounts)) {
+            return new ImportReport(rowCount, 0, errors, "Failed to save passenger information!");
+        }
+        return new ImportReport(rowCount, passengers.size(), errors, null);
+    }
+
+    /**
+     * Validates a chunk in parallel, dedupes it in file order, then hashes the accepted passwords in parallel
+     */
+    private static void processChunk(List<Row> chunk, Set<String> fileUsernames, Set<String> fileIdentities,
+                                     List<Passenger> passengers, List<Account> accounts, List<RowError> errors) {
+        chunk.parallelStream().filter(row -> row.error == null).forEach(BulkImportService::validate);
+
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error == null) {
+                String username = row.account.getUsername().toLowerCase();
+                String identity = PassengerRepository.normalizeIdentity(
+                    row.passenger.getIdType(), row.passenger.getIdNumber());
+                if (fileUsernames.contains(username) || PassengerRepository.usernameExists(username)) {
+                    row.error = "Username already exists";
+                } else if (!identity.isEmpty() && (fileIdentities.contains(identity)
+                        || PassengerRepository.getUsernameByIdentity(row.passenger.getIdType(), row.passenger.getIdNumber()) != null)) {
+                    row.error = "This ID is already registered to another passenger";
+                } else {
+                    fileUsernames.add(username);
+                    if (!identity.isEmpty()) {
+                        fileIdentities.add(identity);
+                    }
+                    accepted.add(row);
+                }
+            }
+            if (row.error != null) {
+                String username = row.fields != null && !row.fields.isEmpty() ? row.fields.get(0) : "";
+                errors.add(new RowError(row.lineNumber, username, row.error));
+            }
+        }
+
+        accepted.parallelStream().forEach(row -> {
+            row.account.setEncryptedPassword(PasswordHasher.hash(row.account.getPassword()));
+            // Accounts are held until the whole file is read; keep only the hash
+            row.account.setPassword(null);
+            row.fields.set(1, "");
+        });
+        for (Row row : accepted) {
+            passengers.add(row.passenger);
+            accounts.add(row.account);
+        }
+    }
+
+    /**
+     * Applies the single-registration rules to a row (no repository access, so safe in parallel)
+     */
+    private static void validate(Row row) {
+        List<String> f = row.fields;
+        for (String field : f) {
+            if (field.indexOf('|') >= 0) {
+                row.error = "Fields must not contain '|'";
+                return;
+            }
+        }
+        Passenger passenger = new Passenger(f.get(0), f.get(2), f.get(3), f.get(4), f.get(5),
+                                            f.get(6), f.get(7), f.get(8), f.get(9));
+        Account account = new Account(f.get(0), f.get(1));
+
+        ValidationUtils.ValidationResult usernameValidation = ValidationUtils.validateUsername(account.getUsername());
+        if (!usernameValidation.isValid()) {
+            row.error = usernameValidation.getMessage();
+            return;
+        }
+        ValidationUtils.ValidationResult passwordValidation = ValidationUtils.validatePassword(account.getPassword());
+        if (!passwordValidation.isValid()) {
+            row.error = passwordValidation.getMessage();
+            return;
+        }
+        if (!passenger.isValid()) {
+            row.error = "Invalid passenger information!";
+            return;
+        }
+        row.passenger = passenger;
+        row.account = account;
+    }
+
+    /**
+     * Splits a CSV line into trimmed fields
+     * @return The fields, or null if a quoted field is not closed
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMN_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * A rejected row
+     */
+    public static class RowError {
+        private final int lineNumber;
+        private final String username;
+        private final String message;
+
+        public RowError(int lineNumber, String username, String message) {
+            this.lineNumber = lineNumber;
+            this.username = username;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + (username.isEmpty() ? "" : " (" + username + ")") + ": " + message;
+        }
+    }
+
+    /**
+     * Outcome of an import
+     * Rows are either imported or listed in the errors; if saving fails, nothing is
+     * imported (neither details nor accounts), so the file can simply be imported again
+     */
+    public static class ImportReport {
+        private final int rowCount;
+        private final int importedCount;
+        private final List<RowError> errors;
+        private final String failureMessage;
+
+        public ImportReport(int rowCount, int importedCount, List<RowError> errors, String failureMessage) {
+            this.rowCount = rowCount;
+            this.importedCount = importedCount;
+            this.errors = errors;
+            this.failureMessage = failureMessage;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets why the accepted rows could not be saved
+         * @return The message, or null if saving succeeded (or there was nothing to save)
+         */
+        public String getFailureMessage() {
+            return failureMessage;
+        }
+
+        public boolean isSuccess() {
+            return failureMessage == null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.Flight;
+import kingsman.upair.repository.BookingRepository;
+import kingsman.upair.utils.Money;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for demand-based fare adjustments
+ * Scales fares by the live load factor of a flight date and by days to departure
+ * using bucket tables, reading occupancy from the maintained booking index
+ *
+ * Bucket tables can be overridden in DPpricing_data.txt, one bucket per line:
+ * LOAD|minimum load factor percent|multiplier (e.g. "LOAD|75|1.25")
+ * DAYS|maximum days to departure|multiplier (e.g. "DAYS|7|1.20")
+ */
+public class DynamicPricingService {
+
+    private static final String PRICING_FILE = "DPpricing_data.txt";
+    private static final String DELIMITER = "|";
+
+    // Default load factor buckets: {minimum load percent, rate in basis points}
+    private static final int[][] DEFAULT_LOAD_BUCKETS = {
+        {0, Money.RATE_SCALE},
+        {50, Money.rateOf(1.10)},
+        {75, Money.rateOf(1.25)},
+        {90, Money.rateOf(1.40)}
+    };
+
+    // Default days-to-departure buckets: {maximum days, rate in basis points}
+    private static final int[][] DEFAULT_DAYS_BUCKETS = {
+        {3, Money.rateOf(1.30)},
+        {7, Money.rateOf(1.20)},
+        {14, Money.rateOf(1.10)},
+        {60, Money.RATE_SCALE},
+        {Integer.MAX_VALUE, Money.rateOf(0.95)} // Early bird
+    };
+
+    // Active tables, sorted by threshold
+    private static volatile int[][] loadBuckets;
+    private static volatile int[][] daysBuckets;
+
+    /**
+     * Gets the load factor rate for a flight date
+     * @param flight The flight (for seat capacity)
+     * @param departureDate The departure date
+     * @return Rate in basis points
+     */
+    public static int getLoadFactorRate(Flight flight, LocalDate departureDate) {
+        if (flight == null || departureDate == null || flight.getSeatCapacity() <= 0) {
+            return Money.RATE_SCALE;
+        }
+
+        int booked = BookingRepository.getBookedSeatCount(flight.getFlightCode(), departureDate);
+        int loadPercent = (int) (booked * 100L / flight.getSeatCapacity());
+
+        // Highest bucket whose minimum load is reached
+        int[][] buckets = getLoadBuckets();
+        int rate = Money.RATE_SCALE;
+        for (int[] bucket : buckets) {
+            if (loadPercent >= bucket[0]) {
+                rate = bucket[1];
+            } else {
+                break;
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * Gets the days-to-departure rate for a departure date
+     * @param departureDate The departure date
+     * @param today The booking date
+     * @return Rate in basis points
+     */
+    public static int getDaysToDepartureRate(LocalDate departureDate, LocalDate today) {
+        if (departureDate == null || today == null) {
+            return Money.RATE_SCALE;
+        }
+
+        long days = Math.max(0, ChronoUnit.DAYS.between(today, departureDate));
+
+        // First bucket whose maximum days covers the departure
+        for (int[] bucket : getDaysBuckets()) {
+            if (days <= bucket[0]) {
+                return bucket[1];
+            }
+        }
+        return Money.RATE_SCALE;
+    }
+
+    /**
+     * Reloads the bucket tables from file on next use
+     */
+    public static void clearCache() {
+        loadBuckets = null;
+        daysBuckets = null;
+    }
+
+    private static int[][] getLoadBuckets() {
+        if (loadBuckets == null) {
+            loadTables();
+        }
+        return loadBuckets;
+    }
+
+    private static int[][] getDaysBuckets() {
+        if (daysBuckets == null) {
+            loadTables();
+        }
+        return daysBuckets;
+    }
+
+    /**
+     * Loads bucket tables from file, falling back to defaults for missing tables
+     */
+    private static synchronized void loadTables() {
+        if (loadBuckets != null && daysBuckets != null) {
+            return;
+        }
+
+        List<int[]> load = new ArrayList<>();
+        List<int[]> days = new ArrayList<>();
+
+        File file = new File(PRICING_FILE);
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    String[] parts = line.split("\\" + DELIMITER);
+                    if (parts.length >= 3) {
+                        try {
+                            int[] bucket = {
+                                Integer.parseInt(parts[1].trim()),
+                                Money.rateOf(Double.parseDouble(parts[2].trim()))
+                            };
+                            if (parts[0].trim().equalsIgnoreCase("LOAD")) {
+                                load.add(bucket);
+                            } else if (parts[0].trim().equalsIgnoreCase("DAYS")) {
+                                days.add(bucket);
+                            }
+                        } catch (NumberFormatException e) {
+                            System.err.println("Skipping invalid pricing bucket: " + line);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error loading pricing buckets: " + e.getMessage());
+            }
+        }
+
+        daysBuckets = toSortedTable(days, DEFAULT_DAYS_BUCKETS);
+        loadBuckets = toSortedTable(load, DEFAULT_LOAD_BUCKETS);
+    }
+
+    private static int[][] toSortedTable(List<int[]> buckets, int[][] defaults) {
+        if (buckets.isEmpty()) {
+            return defaults;
+        }
+        buckets.sort((a, b) -> Integer.compare(a[0], b[0]));
+        return buckets.toArray(new int[0][]);
+    }
+}
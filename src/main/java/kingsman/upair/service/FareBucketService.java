@@ -0,0 +1,287 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.Booking;
+import kingsman.upair.model.FareBucket;
+import kingsman.upair.model.Flight;
+import kingsman.upair.model.Schedule;
+import kingsman.upair.repository.BookingRepository;
+import kingsman.upair.repository.FareBucketRepository;
+import kingsman.upair.repository.FlightRepository;
+import kingsman.upair.repository.ScheduleRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class for fare bucket inventory with nested booking limits
+ * Each schedule keeps one atomic sold-seat counter, so checking whether a bucket
+ * is open and reserving seats from it are O(1) and safe under concurrent bookings
+ */
+public class FareBucketService {
+
+    // Default buckets: code, booking limit as percent of seat capacity, fare multiplier
+    private static final String[] DEFAULT_BUCKET_CODES = {"Promo", "Regular", "Flex"};
+    private static final int[] DEFAULT_LIMIT_PERCENTS = {30, 80, 100};
+    private static final double[] DEFAULT_MULTIPLIERS = {0.80, 1.00, 1.25};
+
+    // Inventory: seats sold per schedule, and per schedule bucket
+    private static final Map<String, AtomicInteger> soldBySchedule = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> soldByBucket = new ConcurrentHashMap<>();
+    private static volatile boolean inventoryLoaded = false;
+
+    /**
+     * Creates the default fare buckets for a schedule from its flight's seat capacity
+     * @param schedule The schedule
+     * @return Default buckets sorted from lowest to highest fare, empty if the flight is unknown
+     */
+    public static List<FareBucket> createDefaultBuckets(Schedule schedule) {
+        List<FareBucket> buckets = new ArrayList<>();
+        Flight flight = FlightRepository.getFlightByCode(schedule.getFlightCode());
+        if (flight == null) {
+            return buckets;
+        }
+
+        for (int i = 0; i < DEFAULT_BUCKET_CODES.length; i++) {
+            int limit = flight.getSeatCapacity() * DEFAULT_LIMIT_PERCENTS[i] / 100;
+            buckets.add(new FareBucket(schedule.getScheduleId(), DEFAULT_BUCKET_CODES[i], limit, DEFAULT_MULTIPLIERS[i]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Gets the fare buckets of a schedule, falling back to defaults if none are stored
+     * @param schedule The schedule
+     * @return Buckets sorted from lowest to highest fare
+     */
+    public static List<FareBucket> getBuckets(Schedule schedule) {
+        List<FareBucket> stored = FareBucketRepository.getBucketsForSchedule(schedule.getScheduleId());
+        return stored != null ? stored : Collections.unmodifiableList(createDefaultBuckets(schedule));
+    }
+
+    /**
+     * Finds the lowest-fare bucket that can still sell the requested seats
+     * @param schedule The schedule
+     * @param seats Number of seats requested
+     * @return The bucket, or null if the schedule is sold out for that many seats
+     */
+    public static FareBucket findLowestOpenBucket(Schedule schedule, int seats) {
+        for (FareBucket bucket : getBuckets(schedule)) {
+            if (isOpen(bucket, seats)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks in O(1) whether a bucket can sell the requested seats
+     * @param bucket The fare bucket
+     * @param seats Number of seats requested
+     * @return true if open, false otherwise
+     */
+    public static boolean isOpen(FareBucket bucket, int seats) {
+        return getSoldSeats(bucket.getScheduleId()) + seats <= bucket.getBookingLimit();
+    }
+
+    /**
+     * Gets the total number of seats sold on a schedule
+     * @param scheduleId The schedule ID
+     * @return Seats sold across all buckets
+     */
+    public static int getSoldSeats(String scheduleId) {
+        loadInventory();
+        AtomicInteger sold = soldBySchedule.get(scheduleId);
+        return sold != null ? sold.get() : 0;
+    }
+
+    /**
+     * Atomically reserves seats from a bucket
+     * Fails without side effects if the nested booking limit would be exceeded
+     * @param schedule The schedule
+     * @param bucketCode The bucket to sell from
+     * @param seats Number of seats
+     * @return true if the seats were reserved, false if the bucket is closed
+     */
+    public static boolean reserveSeats(Schedule schedule, String bucketCode, int seats) {
+        FareBucket bucket = findBucket(schedule, bucketCode);
+        if (bucket == null || seats <= 0) {
+            return false;
+        }
+
+        loadInventory();
+        AtomicInteger sold = soldBySchedule.computeIfAbsent(schedule.getScheduleId(), k -> new AtomicInteger());
+        int current;
+        do {
+            current = sold.get();
+            if (current + seats > bucket.getBookingLimit()) {
+                return false;
+            }
+        } while (!sold.compareAndSet(current, current + seats));
+
+        soldByBucket.computeIfAbsent(bucketKey(schedule.getScheduleId(), bucketCode), k -> new AtomicInteger())
+                    .addAndGet(seats);
+        return true;
+    }
+
+    /**
+     * Atomically reserves seats from the lowest-fare bucket that still has room
+     * Used for the return leg of a round trip, which is not priced separately
+     * @param schedule The schedule
+     * @param seats Number of seats
+     * @return The bucket the seats were sold from, or null if the schedule is sold out for that many seats
+     */
+    public static FareBucket reserveLowestOpenSeats(Schedule schedule, int seats) {
+        for (FareBucket bucket : getBuckets(schedule)) {
+            if (reserveSeats(schedule, bucket.getBucketCode(), seats)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the seats of a booking to the buckets they were sold from, on both legs of a round trip
+     * Used when a cancellation is approved or a booking could not be saved
+     * @param booking The booking
+     */
+    public static void releaseSeats(Booking booking) {
+        if (booking == null || booking.getReservedSeats() == null) {
+            return;
+        }
+        loadInventory();
+        int seats = booking.getReservedSeats().size();
+        Schedule schedule = ScheduleRepository.getScheduleByFlightAndDate(
+            booking.getFlightCode(), booking.getDepartureDate());
+        if (schedule != null) {
+            release(schedule.getScheduleId(), booking.getFareBucket(), seats);
+        }
+        Schedule returnSchedule = getReturnSchedule(booking);
+        if (returnSchedule != null) {
+            release(returnSchedule.getScheduleId(), booking.getReturnFareBucket(), seats);
+        }
+    }
+
+    /**
+     * Saves the cancellation of a booking and returns its seats to inventory
+     * The save only succeeds on an actual change from the previous status (see
+     * BookingRepository.updateBookingIfStatus), so seats are released once even if
+     * the cancellation is approved twice. The inventory lock is held throughout so
+     * the counters cannot be rebuilt between the save and the release
+     * @param cancelled Copy of the booking with status "Cancelled"
+     * @param previousStatus The status the booking had when the cancellation was approved
+     * @return true if cancelled, false if the booking changed meanwhile or could not be saved
+     */
+    public static boolean cancelBooking(Booking cancelled, String previousStatus) {
+        synchronized (FareBucketService.class) {
+            loadInventory();
+            if ("Cancelled".equalsIgnoreCase(previousStatus) ||
+                !BookingRepository.updateBookingIfStatus(cancelled, previousStatus)) {
+                return false;
+            }
+            releaseSeats(cancelled);
+            return true;
+        }
+    }
+
+    private static void release(String scheduleId, String bucketCode, int seats) {
+        AtomicInteger sold = soldBySchedule.get(scheduleId);
+        if (sold != null) {
+            sold.updateAndGet(v -> Math.max(0, v - seats));
+        }
+        if (bucketCode != null) {
+            AtomicInteger bucketSold = soldByBucket.get(bucketKey(scheduleId, bucketCode));
+            if (bucketSold != null) {
+                bucketSold.updateAndGet(v -> Math.max(0, v - seats));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of seats sold from a specific bucket
+     * @param scheduleId The schedule ID
+     * @param bucketCode The bucket code
+     * @return Seats sold from that bucket
+     */
+    public static int getSoldSeats(String scheduleId, String bucketCode) {
+        loadInventory();
+        AtomicInteger sold = soldByBucket.get(bucketKey(scheduleId, bucketCode));
+        return sold != null ? sold.get() : 0;
+    }
+
+    /**
+     * Gets the schedule of a booking's return leg
+     * @return The schedule, or null for one-way bookings and bookings whose return leg was never reserved
+     */
+    private static Schedule getReturnSchedule(Booking booking) {
+        if (booking.getReturnFlightCode() == null || booking.getReturnDate() == null ||
+            booking.getReturnFareBucket() == null) {
+            return null;
+        }
+        return ScheduleRepository.getScheduleByFlightAndDate(booking.getReturnFlightCode(), booking.getReturnDate());
+    }
+
+    private static FareBucket findBucket(Schedule schedule, String bucketCode) {
+        for (FareBucket bucket : getBuckets(schedule)) {
+            if (bucket.getBucketCode().equalsIgnoreCase(bucketCode)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rebuilds the sold-seat counters from existing bookings (once)
+     */
+    private static void loadInventory() {
+        if (inventoryLoaded) {
+            return;
+        }
+        synchronized (FareBucketService.class) {
+            if (inventoryLoaded) {
+                return;
+            }
+            for (Booking booking : BookingRepository.getAllBookings()) {
+                if ("Cancelled".equals(booking.getStatus()) || booking.getReservedSeats() == null) {
+                    continue;
+                }
+                int seats = booking.getReservedSeats().size();
+                Schedule schedule = ScheduleRepository.getScheduleByFlightAndDate(
+                    booking.getFlightCode(), booking.getDepartureDate());
+                if (schedule != null) {
+                    countSold(schedule.getScheduleId(), booking.getFareBucket(), seats);
+                }
+                Schedule returnSchedule = getReturnSchedule(booking);
+                if (returnSchedule != null) {
+                    countSold(returnSchedule.getScheduleId(), booking.getReturnFareBucket(), seats);
+                }
+            }
+            inventoryLoaded = true;
+        }
+    }
+
+    private static void countSold(String scheduleId, String bucketCode, int seats) {
+        soldBySchedule.computeIfAbsent(scheduleId, k -> new AtomicInteger()).addAndGet(seats);
+        if (bucketCode != null) {
+            soldByBucket.computeIfAbsent(bucketKey(scheduleId, bucketCode), k -> new AtomicInteger()).addAndGet(seats);
+        }
+    }
+
+    private static String bucketKey(String scheduleId, String bucketCode) {
+        return scheduleId + "|" + bucketCode.toLowerCase();
+    }
+
+    /**
+     * Clears the inventory counters so they are rebuilt from bookings
+     */
+    public static void clearCache() {
+        synchronized (FareBucketService.class) {
+            soldBySchedule.clear();
+            soldByBucket.clear();
+            inventoryLoaded = false;
+        }
+    }
+}
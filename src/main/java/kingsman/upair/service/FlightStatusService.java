@@ -148,9 +148,9 @@ public class FlightStatusService {
             }
         }
         
-        // Delete flights that should be removed
+        // Delete flights that should be removed (along with their fare buckets)
         for (String scheduleId : schedulesToDelete) {
-            ScheduleRepository.deleteSchedule(scheduleId);
+            ScheduleService.deleteSchedule(scheduleId);
         }
         
         return result;
@@ -0,0 +1,110 @@
+package kingsman.upair.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for limiting login attempts before credentials are checked
+ * Each username has a token bucket, and all attempts share a global bucket, so
+ * guessing one account and spraying many accounts are both throttled without
+ * touching the admin or passenger files
+ *
+ * Buckets are lock-free: each is one AtomicLong holding the time at which it
+ * will be full again (the generic cell rate form of a token bucket), updated
+ * with compare-and-set. A bucket that has refilled carries no state, so idle
+ * buckets are evicted whenever the map grows past MAX_TRACKED_USERS
+ */
+public class LoginRateLimiter {
+
+    // Per username: bursts of 5 attempts, then one every 30 seconds
+    private static final int USER_BURST = 5;
+    private static final long USER_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    // All logins: bursts of 50 attempts, then 10 per second
+    private static final int GLOBAL_BURST = 50;
+    private static final long GLOBAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final int MAX_TRACKED_USERS = 10_000;
+    // Evict down to this many, so eviction scans stay rare under a flood of usernames
+    private static final int EVICT_TO_USERS = MAX_TRACKED_USERS * 3 / 4;
+
+    private static final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private static final TokenBucket globalBucket = new TokenBucket(GLOBAL_BURST, GLOBAL_INTERVAL_NANOS);
+
+    /**
+     * Lock-free token bucket
+     */
+    private static class TokenBucket {
+        private final long interval; // Nanoseconds to earn one token
+        private final long burstWindow; // Nanoseconds to earn a full bucket
+        // Time at which the bucket is full again (nanoTime); at or before now means full
+        private final AtomicLong fullAt;
+
+        TokenBucket(int burst, long interval) {
+            this.interval = interval;
+            this.burstWindow = burst * interval;
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long base = current - now > 0 ? current : now; // A full bucket starts from now
+                long next = base + interval;
+                if (next - now > burstWindow) {
+                    return false; // Empty
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+
+    /**
+     * Takes a login attempt from the user's and the global budget
+     * Call before checking credentials; a rejected attempt must not be checked
+     * @param username The username entered
+     * @return true if the attempt may proceed, false if rate limited
+     */
+    public static boolean tryAcquire(String username) {
+        long now = System.nanoTime();
+        String key = username == null ? "" : username.trim().toLowerCase();
+
+        TokenBucket bucket = userBuckets.get(key);
+        if (bucket == null) {
+            if (userBuckets.size() >= MAX_TRACKED_USERS) {
+                evictIdle(now);
+            }
+            bucket = userBuckets.computeIfAbsent(key, k -> new TokenBucket(USER_BURST, USER_INTERVAL_NANOS));
+        }
+        return bucket.tryAcquire(now) && globalBucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops buckets that have refilled; if that is not enough (many users
+     * throttled at once), drops arbitrary buckets, which the global bucket still covers
+     */
+    private static void evictIdle(long now) {
+        userBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        Iterator<TokenBucket> iterator = userBuckets.values().iterator();
+        while (userBuckets.size() > EVICT_TO_USERS && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Clears all buckets
+     */
+    public static void clear() {
+        userBuckets.clear();
+    }
+}
@@ -2,15 +2,21 @@ package kingsman.upair.service;
 
 import kingsman.upair.model.Account;
 import kingsman.upair.repository.PassengerRepository;
-import kingsman.upair.utils.PasswordEncryption;
+import kingsman.upair.utils.PasswordHasher;
+
+import java.util.UUID;
 
 /**
  * Service class for passenger login validation
  */
 public class PassengerLoginService {
     
+    // Dummy record for unknown usernames, created on first use
+    private static String unknownUserRecord;
+    
     /**
      * Validates passenger credentials
+     * Hashes the password, so call it off the EDT
      * @param username The username
      * @param password The password
      * @return true if valid, false otherwise
@@ -22,13 +28,28 @@ public class PassengerLoginService {
         }
         
         Account account = PassengerRepository.getAccountByUsername(username);
-        if (account == null) {
+        
+        // Unknown usernames are checked against a dummy record so they take as long as a wrong password
+        String stored = account != null ? account.getEncryptedPassword() : getUnknownUserRecord();
+        if (!PasswordHasher.verify(password, stored) || account == null) {
             return false;
         }
         
-        // Decrypt and compare password
-        String decryptedPassword = PasswordEncryption.decrypt(account.getEncryptedPassword());
-        return decryptedPassword.equals(password);
+        // Upgrade legacy or weaker records now that the password is known
+        if (PasswordHasher.needsRehash(stored)) {
+            PassengerRepository.updatePasswordHash(username, PasswordHasher.hash(password));
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the dummy record used for unknown usernames
+     */
+    private static synchronized String getUnknownUserRecord() {
+        if (unknownUserRecord == null) {
+            unknownUserRecord = PasswordHasher.hash(UUID.randomUUID().toString());
+        }
+        return unknownUserRecord;
     }
 }
 
@@ -1,64 +1,75 @@
 package kingsman.upair.service;
 
+import kingsman.upair.model.FareBucket;
 import kingsman.upair.model.Flight;
 import kingsman.upair.model.FlightOffer;
+import kingsman.upair.utils.Money;
 import java.time.LocalDate;
-import java.time.Month;
 
 /**
  * Service class for calculating flight prices
- * Handles base fare, passenger count, season, vouchers, seat preferences, and flight offers
+ * Handles base fare, fare buckets, passenger count, season, demand, vouchers, seat preferences, and flight offers
  */
 public class PriceCalculationService {
     
-    // Season multipliers (Philippine context)
-    private static final double PEAK_SEASON_MULTIPLIER = 1.3; // December, January, April (Holy Week)
-    private static final double REGULAR_SEASON_MULTIPLIER = 1.0;
-    private static final double OFF_SEASON_MULTIPLIER = 0.9; // Low season months
+    // Seat preference rates
+    private static final int STANDARD_SEAT_RATE = Money.RATE_SCALE;
+    private static final int FRONT_SEAT_RATE = Money.rateOf(1.15); // 15% premium for front seats
+    private static final int BUSINESS_SEAT_RATE = Money.rateOf(1.5); // 50% premium for business class
     
-    // Seat preference multipliers
-    private static final double FRONT_SEAT_MULTIPLIER = 1.15; // 15% premium for front seats
-    private static final double BUSINESS_SEAT_MULTIPLIER = 1.5; // 50% premium for business class
+    // Passenger type rates
+    private static final int ADULT_RATE = Money.RATE_SCALE;
+    private static final int MINOR_RATE = Money.rateOf(0.75); // 25% discount for minors
     
-    // Passenger type multipliers
-    private static final double ADULT_MULTIPLIER = 1.0;
-    private static final double MINOR_MULTIPLIER = 0.75; // 25% discount for minors
+    // Flight offer and voucher rates
+    private static final int BUSINESS_OFFER_RATE = Money.rateOf(1.1);
+    private static final int FIRST_CLASS_OFFER_RATE = Money.rateOf(1.2);
+    private static final int VOUCHER_RATE = Money.rateOf(0.9); // 10% discount
     
     /**
      * Calculates total price for a flight booking
+     * All arithmetic is done on long centavos, so the result is exact
      * @param flight The flight
+     * @param fareBucket Fare bucket the seats are sold from (null for the flat base fare)
      * @param numberOfAdults Number of adult passengers
      * @param numberOfMinors Number of minor passengers
      * @param departureDate Departure date
      * @param seatPreference Seat preference ("Standard", "Front", "Business")
      * @param voucherCode Optional voucher code
      * @param flightOffer Optional flight offer details
-     * @return Total calculated price
+     * @return Total calculated price in centavos
      */
-    public static double calculatePrice(Flight flight, int numberOfAdults, int numberOfMinors,
-                                       LocalDate departureDate, String seatPreference,
-                                       String voucherCode, FlightOffer flightOffer) {
+    public static long calculatePrice(Flight flight, FareBucket fareBucket, int numberOfAdults, int numberOfMinors,
+                                      LocalDate departureDate, String seatPreference,
+                                      String voucherCode, FlightOffer flightOffer) {
         if (flight == null) {
-            return 0.0;
+            return 0L;
         }
         
-        double basePrice = flight.getBaseFare();
+        long basePrice = Money.ofPesos(flight.getBaseFare());
         
-        // Apply season multiplier
-        double seasonMultiplier = getSeasonMultiplier(departureDate);
-        basePrice *= seasonMultiplier;
+        // Apply fare bucket rate (lowest open bucket for the party)
+        if (fareBucket != null) {
+            basePrice = Money.applyRate(basePrice, Money.rateOf(fareBucket.getFareMultiplier()));
+        }
+        
+        // Apply season rate (holiday-aware, precomputed per year)
+        basePrice = Money.applyRate(basePrice, SeasonCalendar.getRate(departureDate));
         
-        // Apply seat preference multiplier
-        double seatMultiplier = getSeatMultiplier(seatPreference);
-        basePrice *= seatMultiplier;
+        // Apply demand rates (live load factor and days to departure)
+        basePrice = Money.applyRate(basePrice, DynamicPricingService.getLoadFactorRate(flight, departureDate));
+        basePrice = Money.applyRate(basePrice, DynamicPricingService.getDaysToDepartureRate(departureDate, LocalDate.now()));
+        
+        // Apply seat preference rate
+        basePrice = Money.applyRate(basePrice, getSeatRate(seatPreference));
         
         // Calculate adult prices
-        double adultTotal = basePrice * numberOfAdults * ADULT_MULTIPLIER;
+        long adultTotal = Money.applyRate(Money.times(basePrice, numberOfAdults), ADULT_RATE);
         
         // Calculate minor prices (with discount)
-        double minorTotal = basePrice * numberOfMinors * MINOR_MULTIPLIER;
+        long minorTotal = Money.applyRate(Money.times(basePrice, numberOfMinors), MINOR_RATE);
         
-        double subtotal = adultTotal + minorTotal;
+        long subtotal = adultTotal + minorTotal;
         
         // Apply flight offer adjustments (if business class or premium)
         if (flightOffer != null) {
@@ -70,46 +81,24 @@ public class PriceCalculationService {
             subtotal = applyVoucherDiscount(subtotal, voucherCode);
         }
         
-        return Math.round(subtotal * 100.0) / 100.0; // Round to 2 decimal places
+        return subtotal;
     }
     
     /**
-     * Gets season multiplier based on date
-     * Philippine context: Peak seasons are December, January, and April (Holy Week)
+     * Gets seat preference rate
      */
-    private static double getSeasonMultiplier(LocalDate date) {
-        Month month = date.getMonth();
-        
-        // Peak season: December, January
-        if (month == Month.DECEMBER || month == Month.JANUARY) {
-            return PEAK_SEASON_MULTIPLIER;
-        }
-        
-        // April (Holy Week) - approximate
-        if (month == Month.APRIL) {
-            return PEAK_SEASON_MULTIPLIER;
-        }
-        
-        // Off season: February, March, May, June, July, August, September, October, November
-        // (excluding peak months)
-        return REGULAR_SEASON_MULTIPLIER;
-    }
-    
-    /**
-     * Gets seat preference multiplier
-     */
-    private static double getSeatMultiplier(String seatPreference) {
+    private static int getSeatRate(String seatPreference) {
         if (seatPreference == null) {
-            return REGULAR_SEASON_MULTIPLIER;
+            return STANDARD_SEAT_RATE;
         }
         
         switch (seatPreference.toLowerCase()) {
             case "front":
-                return FRONT_SEAT_MULTIPLIER;
+                return FRONT_SEAT_RATE;
             case "business":
-                return BUSINESS_SEAT_MULTIPLIER;
+                return BUSINESS_SEAT_RATE;
             default:
-                return REGULAR_SEASON_MULTIPLIER;
+                return STANDARD_SEAT_RATE;
         }
     }
     
@@ -117,7 +106,7 @@ public class PriceCalculationService {
      * Applies flight offer adjustments
      * Business class and premium offers may affect pricing
      */
-    private static double applyFlightOfferAdjustments(double price, FlightOffer offer) {
+    private static long applyFlightOfferAdjustments(long price, FlightOffer offer) {
         if (offer == null) {
             return price;
         }
@@ -127,9 +116,9 @@ public class PriceCalculationService {
             switch (cabinClass.toLowerCase()) {
                 case "business":
                     // Business class already handled by seat preference, but add small premium
-                    return price * 1.1;
+                    return Money.applyRate(price, BUSINESS_OFFER_RATE);
                 case "first class":
-                    return price * 1.2;
+                    return Money.applyRate(price, FIRST_CLASS_OFFER_RATE);
                 default:
                     return price;
             }
@@ -142,13 +131,12 @@ public class PriceCalculationService {
      * Applies voucher discount
      * Simple implementation - can be extended
      */
-    private static double applyVoucherDiscount(double price, String voucherCode) {
+    private static long applyVoucherDiscount(long price, String voucherCode) {
         // Simple voucher system - 10% discount
         // Can be extended to check voucher database
         if (voucherCode != null && !voucherCode.trim().isEmpty()) {
-            return price * 0.9; // 10% discount
+            return Money.applyRate(price, VOUCHER_RATE);
         }
         return price;
     }
 }
-
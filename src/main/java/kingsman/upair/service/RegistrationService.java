@@ -48,6 +48,11 @@ public class RegistrationService {
             return new RegistrationResult(false, "Username already exists! Please choose a different username.");
         }
         
+        // Check for duplicate identity (same ID already registered)
+        if (PassengerRepository.getUsernameByIdentity(passenger.getIdType(), passenger.getIdNumber()) != null) {
+            return new RegistrationResult(false, "This ID is already registered to another passenger!");
+        }
+        
         // Ensure passenger username matches account username
         passenger.setUsername(account.getUsername());
         
@@ -66,6 +71,30 @@ public class RegistrationService {
         return new RegistrationResult(true, "Registration successful! You can now log in with your credentials.");
     }
     
+    /**
+     * Updates a registered passenger's personal details
+     * Rejects an ID that is already registered to a different passenger
+     * 
+     * @param passenger The updated details (matched by username)
+     * @return RegistrationResult containing success status and message
+     */
+    public static RegistrationResult updatePassengerDetails(Passenger passenger) {
+        if (passenger == null || !passenger.isValid()) {
+            return new RegistrationResult(false, "Invalid passenger information!");
+        }
+        
+        String owner = PassengerRepository.getUsernameByIdentity(passenger.getIdType(), passenger.getIdNumber());
+        if (owner != null && !owner.equalsIgnoreCase(passenger.getUsername())) {
+            return new RegistrationResult(false, "This ID is already registered to another passenger!");
+        }
+        
+        if (!PassengerRepository.updatePassenger(passenger)) {
+            return new RegistrationResult(false, "Failed to update passenger information!");
+        }
+        
+        return new RegistrationResult(true, "Passenger details updated.");
+    }
+    
     /**
      * Validates password confirmation
      * 
@@ -1,6 +1,7 @@
 package kingsman.upair.service;
 
 import kingsman.upair.model.Schedule;
+import kingsman.upair.repository.FareBucketRepository;
 import kingsman.upair.repository.ScheduleRepository;
 
 import java.util.List;
@@ -23,6 +24,8 @@ public class ScheduleService {
         
         boolean saved = ScheduleRepository.saveSchedule(schedule);
         if (saved) {
+            // Open the default fare buckets for the new schedule
+            FareBucketRepository.saveBuckets(schedule.getScheduleId(), FareBucketService.createDefaultBuckets(schedule));
             return new ServiceResult(true, "Schedule added successfully!");
         } else {
             return new ServiceResult(false, "Failed to save schedule! Schedule ID may already exist.");
@@ -59,6 +62,7 @@ public class ScheduleService {
         
         boolean deleted = ScheduleRepository.deleteSchedule(scheduleId);
         if (deleted) {
+            FareBucketRepository.deleteBuckets(scheduleId);
             return new ServiceResult(true, "Schedule deleted successfully!");
         } else {
             return new ServiceResult(false, "Failed to delete schedule! Schedule may not exist.");
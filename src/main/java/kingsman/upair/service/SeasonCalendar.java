@@ -0,0 +1,177 @@
+package kingsman.upair.service;
+
+import kingsman.upair.utils.Money;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holiday-aware season calendar for fare pricing (Philippine context)
+ * Keeps the peak months (December, January, April), adds the movable feasts
+ * of each year (Holy Week, Undas) and precomputes a per-day rate table,
+ * so a season lookup is a single array index
+ *
+ * Admins can overlay custom peak windows in PSseason_data.txt, one per line:
+ * label|yyyy-MM-dd|yyyy-MM-dd|multiplier (e.g. "Penafrancia|2025-09-12|2025-09-21|1.2")
+ */
+public class SeasonCalendar {
+
+    private static final String SEASON_FILE = "PSseason_data.txt";
+    private static final String DELIMITER = "|";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Season rates in basis points
+    private static final int PEAK_SEASON_RATE = Money.rateOf(1.3); // December, January, April, Holy Week
+    private static final int HOLIDAY_RATE = Money.rateOf(1.2); // All Saints (Undas)
+    private static final int REGULAR_SEASON_RATE = Money.RATE_SCALE;
+
+    // Overlay file is checked for changes at most this often
+    private static final long OVERLAY_CHECK_INTERVAL_NANOS = 5_000_000_000L;
+
+    // Per-year rate tables indexed by day of year - 1
+    private static final Map<Integer, int[]> rateTables = new ConcurrentHashMap<>();
+    private static volatile long overlayLastModified = -1L;
+    private static volatile long overlayCheckedAt = System.nanoTime() - OVERLAY_CHECK_INTERVAL_NANOS;
+
+    /**
+     * Gets the season rate for a date
+     * @param date The departure date
+     * @return Rate in basis points (10000 = regular season)
+     */
+    public static int getRate(LocalDate date) {
+        revalidateOverlay();
+        int[] table = rateTables.computeIfAbsent(date.getYear(), SeasonCalendar::buildYear);
+        return table[date.getDayOfYear() - 1];
+    }
+
+    /**
+     * Computes Easter Sunday for a year (Anonymous Gregorian algorithm)
+     * @param year The year
+     * @return Date of Easter Sunday
+     */
+    public static LocalDate getEasterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = ((h + l - 7 * m + 114) % 31) + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Clears all precomputed years so they are rebuilt on next lookup
+     */
+    public static void clearCache() {
+        rateTables.clear();
+        overlayLastModified = -1L;
+        overlayCheckedAt = System.nanoTime() - OVERLAY_CHECK_INTERVAL_NANOS;
+    }
+
+    /**
+     * Drops the precomputed tables if the overlay file was added, changed or removed
+     */
+    private static void revalidateOverlay() {
+        long now = System.nanoTime();
+        if (now - overlayCheckedAt < OVERLAY_CHECK_INTERVAL_NANOS) {
+            return;
+        }
+        overlayCheckedAt = now;
+
+        long lastModified = new File(SEASON_FILE).lastModified(); // 0 if missing
+        if (lastModified != overlayLastModified) {
+            overlayLastModified = lastModified;
+            rateTables.clear();
+        }
+    }
+
+    /**
+     * Builds the per-day rate table for a year
+     */
+    private static int[] buildYear(int year) {
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        int[] table = new int[firstDay.lengthOfYear()];
+        Arrays.fill(table, REGULAR_SEASON_RATE);
+
+        // Peak months: December, January and April
+        fillMonth(table, year, Month.JANUARY, PEAK_SEASON_RATE);
+        fillMonth(table, year, Month.APRIL, PEAK_SEASON_RATE);
+        fillMonth(table, year, Month.DECEMBER, PEAK_SEASON_RATE);
+
+        // Holy Week: Palm Sunday through Easter Sunday, also when it falls in March
+        LocalDate easter = getEasterSunday(year);
+        fill(table, year, easter.minusDays(7), easter, PEAK_SEASON_RATE);
+
+        // All Saints and All Souls (Undas) travel window
+        fill(table, year, LocalDate.of(year, Month.OCTOBER, 30), LocalDate.of(year, Month.NOVEMBER, 2), HOLIDAY_RATE);
+
+        applyOverlay(table, year);
+        return table;
+    }
+
+    /**
+     * Applies admin-defined peak windows from the overlay file
+     */
+    private static void applyOverlay(int[] table, int year) {
+        File file = new File(SEASON_FILE);
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split("\\" + DELIMITER);
+                if (parts.length >= 4) {
+                    try {
+                        LocalDate start = LocalDate.parse(parts[1].trim(), DATE_FORMATTER);
+                        LocalDate end = LocalDate.parse(parts[2].trim(), DATE_FORMATTER);
+                        int rate = Money.rateOf(Double.parseDouble(parts[3].trim()));
+                        fill(table, year, start, end, rate);
+                    } catch (DateTimeParseException | NumberFormatException e) {
+                        System.err.println("Skipping invalid season window: " + line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading season windows: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fills the rate for every day of a month
+     */
+    private static void fillMonth(int[] table, int year, Month month, int rate) {
+        LocalDate first = LocalDate.of(year, month, 1);
+        fill(table, year, first, first.withDayOfMonth(first.lengthOfMonth()), rate);
+    }
+
+    /**
+     * Fills the rate for every day of the window that falls in the given year
+     */
+    private static void fill(int[] table, int year, LocalDate start, LocalDate end, int rate) {
+        if (end.isBefore(start) || end.getYear() < year || start.getYear() > year) {
+            return;
+        }
+        int from = start.getYear() < year ? 0 : start.getDayOfYear() - 1;
+        int to = end.getYear() > year ? table.length - 1 : end.getDayOfYear() - 1;
+        Arrays.fill(table, from, to + 1, rate);
+    }
+}
@@ -0,0 +1,268 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.Session;
+
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.AWTEventListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for login sessions
+ * Issues opaque tokens mapped to a username and role in a concurrent map, so
+ * lookups are O(1) from any thread. A session ends after IDLE_TIMEOUT_MS
+ * without access, or ABSOLUTE_TIMEOUT_MS after it was issued, whichever is first
+ *
+ * Expiry uses a hashed timing wheel instead of a timer per session: one slot
+ * per second, and each session sits in the slot of its deadline. A single
+ * daemon thread advances the wheel once per second and only visits that slot.
+ * Access does not move a session; when its slot comes round with a later
+ * deadline it is moved to the new slot then, so a sweep costs the sessions
+ * expiring plus those touched since they were placed
+ *
+ * Frames attach their session (see attach): input in the frame counts as
+ * access, an expired session logs the frame out, and closing it ends the session
+ */
+public class SessionManager {
+
+    public static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(15);
+    public static final long ABSOLUTE_TIMEOUT_MS = TimeUnit.HOURS.toMillis(8);
+
+    private static final long TICK_MILLIS = 1000L;
+    // Spans more than the idle timeout, so every deadline is less than one turn away
+    private static final int WHEEL_SIZE = 1024;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int TOKEN_BYTES = 32;
+    private static final int EXPIRY_CHECK_SECONDS = 15;
+
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private static final List<Queue<Session>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private static volatile long currentTick = System.currentTimeMillis() / TICK_MILLIS;
+    private static ScheduledExecutorService sweeper;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    static {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Issues a session
+     * @param username The logged-in user's username
+     * @param role The user's role
+     * @return The session token
+     */
+    public static String createSession(String username, Session.Role role) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Session session = new Session(token, username, role, System.currentTimeMillis());
+        sessions.put(token, session);
+        schedule(session, getDeadline(session));
+        startSweeper();
+        return token;
+    }
+
+    /**
+     * Looks up a live session and records the access
+     * @param token The session token
+     * @return The session, or null if unknown, logged out or expired
+     */
+    public static Session getSession(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = getLiveSession(token);
+        if (session != null) {
+            session.setLastAccessMillis(System.currentTimeMillis());
+        }
+        return session;
+    }
+
+    /**
+     * Checks whether a session is live, without recording an access
+     * @param token The session token
+     * @return true unless unknown, logged out or expired
+     */
+    public static boolean isLive(String token) {
+        return token != null && getLiveSession(token) != null;
+    }
+
+    /**
+     * Keeps a session in step with the frame it was issued for (call on the EDT)
+     * Keyboard and mouse input in the frame or its dialogs counts as access, the
+     * session is checked every EXPIRY_CHECK_SECONDS, and closing the frame ends it
+     * @param frame The logged-in user's frame
+     * @param token The session token
+     * @param onExpired Run on the EDT once when the session has expired
+     */
+    public static void attach(Window frame, String token, Runnable onExpired) {
+        AWTEventListener activity = event -> {
+            if (isInside(event.getSource(), frame)) {
+                getSession(token);
+            }
+        };
+        Toolkit.getDefaultToolkit().addAWTEventListener(activity, AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK);
+
+        TickService.Subscription[] expiryCheck = new TickService.Subscription[1];
+        expiryCheck[0] = TickService.subscribe(frame, EXPIRY_CHECK_SECONDS, () -> {
+            if (!isLive(token)) {
+                expiryCheck[0].cancel(); // Report once
+                onExpired.run();
+            }
+        });
+
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                invalidate(token); // Closed with the window button, which may exit the application
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                invalidate(token);
+                Toolkit.getDefaultToolkit().removeAWTEventListener(activity);
+                frame.removeWindowListener(this);
+            }
+        });
+    }
+
+    /**
+     * Checks whether an event source is the frame, a component in it, or a window it owns
+     */
+    private static boolean isInside(Object source, Window frame) {
+        if (!(source instanceof Component)) {
+            return false;
+        }
+        Window window = source instanceof Window ? (Window) source : SwingUtilities.getWindowAncestor((Component) source);
+        while (window != null && window != frame) {
+            window = window.getOwner();
+        }
+        return window == frame;
+    }
+
+    /**
+     * Gets a session unless it is unknown or past its deadline
+     */
+    private static Session getLiveSession(String token) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= getDeadline(session)) {
+            // Due but not yet swept
+            end(session);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Ends a session (log out)
+     * @param token The session token (ignored if null or unknown)
+     */
+    public static void invalidate(String token) {
+        if (token == null) {
+            return;
+        }
+        Session session = sessions.get(token);
+        if (session != null) {
+            end(session);
+        }
+    }
+
+    /**
+     * Gets the number of live sessions
+     * @return Session count
+     */
+    public static int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets when a session expires if not accessed again
+     */
+    private static long getDeadline(Session session) {
+        return Math.min(session.getLastAccessMillis() + IDLE_TIMEOUT_MS,
+                        session.getCreatedMillis() + ABSOLUTE_TIMEOUT_MS);
+    }
+
+    /**
+     * Places a session in the slot of the first tick after its deadline
+     * Never in the current slot, which may already have been swept
+     */
+    private static void schedule(Session session, long deadline) {
+        long tick = Math.max(deadline / TICK_MILLIS + 1, currentTick + 1);
+        wheel.get((int) (tick & WHEEL_MASK)).add(session);
+    }
+
+    private static void end(Session session) {
+        session.setEnded(true);
+        sessions.remove(session.getToken(), session);
+    }
+
+    private static synchronized void startSweeper() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleAtFixedRate(SessionManager::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sweeps every slot up to the current time (more than one if the thread was delayed)
+     */
+    private static void advance() {
+        try {
+            long nowTick = System.currentTimeMillis() / TICK_MILLIS;
+            while (currentTick < nowTick) {
+                currentTick++;
+                sweep(wheel.get((int) (currentTick & WHEEL_MASK)));
+            }
+        } catch (RuntimeException e) {
+            // Keep the sweeper scheduled
+            System.err.println("Error sweeping sessions: " + e.getMessage());
+        }
+    }
+
+    private static void sweep(Queue<Session> slot) {
+        // Only the entries present now; sessions moved back into this slot wait for its next turn
+        for (int count = slot.size(); count > 0; count--) {
+            Session session = slot.poll();
+            if (session == null) {
+                break;
+            }
+            if (session.isEnded()) {
+                continue; // Logged out, or expired on lookup
+            }
+            long deadline = getDeadline(session);
+            if (deadline < currentTick * TICK_MILLIS) {
+                end(session);
+            } else {
+                schedule(session, deadline); // Accessed since it was placed
+            }
+        }
+    }
+}
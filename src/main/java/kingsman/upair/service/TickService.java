@@ -0,0 +1,121 @@
+package kingsman.upair.service;
+
+import javax.swing.Timer;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for periodic UI work (clocks, status refreshes)
+ * One application-wide Swing timer ticks once per second and runs every
+ * subscription that is due on that tick, so periodic work from all frames is
+ * coalesced into the same wake-ups. The timer only runs while something is
+ * subscribed, and subscriptions owned by a window are skipped while it is
+ * hidden and removed when it is disposed
+ *
+ * All methods must be called on the EDT; subscriptions also run on the EDT
+ */
+public class TickService {
+
+    private static final int TICK_MILLIS = 1000;
+
+    private static final List<Subscription> subscriptions = new ArrayList<>();
+    private static final Timer timer = new Timer(TICK_MILLIS, e -> tick());
+    private static long tickCount = 0L;
+
+    /**
+     * A periodic task registered with the tick service
+     */
+    public static class Subscription {
+        private final int periodTicks;
+        private final Runnable task;
+        private final Window owner;
+        private long nextTick;
+
+        private Subscription(int periodTicks, Runnable task, Window owner) {
+            this.periodTicks = periodTicks;
+            this.task = task;
+            this.owner = owner;
+        }
+
+        /**
+         * Stops this subscription
+         */
+        public void cancel() {
+            unsubscribe(this);
+        }
+    }
+
+    /**
+     * Runs a task every given number of seconds
+     * @param periodSeconds Interval in seconds (at least 1)
+     * @param task The task
+     * @return The subscription, used to unsubscribe
+     */
+    public static Subscription subscribe(int periodSeconds, Runnable task) {
+        return subscribe(null, periodSeconds, task);
+    }
+
+    /**
+     * Runs a task every given number of seconds while a window is showing
+     * The subscription is removed automatically when the window is disposed
+     * @param owner The window the task updates (null for none)
+     * @param periodSeconds Interval in seconds (at least 1)
+     * @param task The task
+     * @return The subscription, used to unsubscribe
+     */
+    public static Subscription subscribe(Window owner, int periodSeconds, Runnable task) {
+        Subscription subscription = new Subscription(Math.max(1, periodSeconds), task, owner);
+        subscription.nextTick = tickCount + subscription.periodTicks;
+        subscriptions.add(subscription);
+
+        if (owner != null) {
+            owner.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    unsubscribe(subscription);
+                    owner.removeWindowListener(this);
+                }
+            });
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription; stops the shared timer when none are left
+     * @param subscription The subscription (ignored if null or already removed)
+     */
+    public static void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        if (subscriptions.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Runs the subscriptions due on this tick
+     */
+    private static void tick() {
+        tickCount++;
+        // Copy, since tasks may subscribe or unsubscribe while running
+        for (Subscription subscription : subscriptions.toArray(new Subscription[0])) {
+            if (subscription.nextTick > tickCount) {
+                continue;
+            }
+            subscription.nextTick = tickCount + subscription.periodTicks;
+            if (subscription.owner != null && !subscription.owner.isShowing()) {
+                continue; // Hidden window: nothing to repaint
+            }
+            try {
+                subscription.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error in periodic task: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package kingsman.upair.service;
+
+import kingsman.upair.model.FareBucket;
+import kingsman.upair.model.Flight;
+import kingsman.upair.model.Schedule;
+import kingsman.upair.repository.BookingRepository;
+import kingsman.upair.repository.BookingAnalyticsRepository;
+import kingsman.upair.repository.BookingViewRepository;
+import kingsman.upair.repository.FareBucketRepository;
+import kingsman.upair.repository.FlightRepository;
+import kingsman.upair.repository.PassengerRepository;
+import kingsman.upair.repository.ScheduleRepository;
+
+import kingsman.upair.utils.ImageCache;
+
+import javax.swing.SwingUtilities;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class for the startup warm-up pipeline run behind the splash screen
+ * Loads every repository in parallel, then builds the status/occupancy/fare
+ * inventory indexes and runs each pricing combination once, so the first
+ * login, search and seat map do not pay for file loads, index builds and
+ * class initialization
+ *
+ * The pricing rounds load and initialize the pricing classes and fill their
+ * caches; they are far too few for the JIT to compile the path, which happens
+ * later under real traffic. Each repository is loaded by one task and the
+ * dependent steps only start after all loads have joined. The login frame is
+ * not shown until warm-up completes
+ */
+public class WarmUpService {
+
+    /**
+     * Receives warm-up progress on the EDT
+     */
+    public interface ProgressListener {
+        void onProgress(int completedSteps, int totalSteps, String stepName);
+    }
+
+    private static final String[] IMAGE_ASSETS = {
+        "Calendar.png", "Compare.png", "Home.png", "Log Out.png", "Plane.png",
+        "Plane Taking Off.png", "Profile Icon.png", "Profile Icon Big.png", "Refresh.png",
+        "Seats.png", "Status.png", "Ticket.png", "Title.png"
+    };
+
+    // Party sizes, seat preferences and departure offsets exercised by the pricing warm-up;
+    // 30 rounds cover every combination of the cycles below once
+    private static final int PRICING_ROUNDS = 30;
+    private static final String[] SEAT_PREFERENCES = {"Standard", "Front", "Business"};
+    private static final int[] DAY_OFFSETS = {1, 5, 10, 30, 90};
+
+    // Repository loads, image decoding and window icon scaling, indexes, season tables, pricing
+    private static final int TOTAL_STEPS = 5 + IMAGE_ASSETS.length + 1 + 3;
+
+    /**
+     * Starts the warm-up pipeline
+     * @param listener Progress listener (may be null)
+     * @return Future completed on the EDT when warm-up finishes; failed steps are logged and skipped
+     */
+    public static CompletableFuture<Void> start(ProgressListener listener) {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<Void>> steps = new ArrayList<>();
+
+        // Phase 1: each repository loads its own file in parallel
+        CompletableFuture<Void> repositories = CompletableFuture.allOf(
+            step(executor, listener, completed, "Loading flights", FlightRepository::getAllFlights),
+            step(executor, listener, completed, "Loading schedules", ScheduleRepository::getAllSchedules),
+            step(executor, listener, completed, "Loading bookings", BookingRepository::getAllBookings),
+            step(executor, listener, completed, "Loading fare buckets", () -> FareBucketRepository.getBucketsForSchedule("")),
+            step(executor, listener, completed, "Loading passengers", PassengerRepository::loadUsernameFilter)
+        );
+        steps.add(repositories);
+
+        // Images do not touch repositories, so they decode into the image cache alongside everything else
+        for (String asset : IMAGE_ASSETS) {
+            steps.add(step(executor, listener, completed, "Loading images", () -> ImageCache.getImage(asset)));
+        }
+        steps.add(step(executor, listener, completed, "Loading images", ImageCache::getWindowIcons));
+
+        // Season tables only depend on the overlay file
+        steps.add(step(executor, listener, completed, "Preparing fares", WarmUpService::buildSeasonTables));
+
+        // Phase 2: indexes and pricing read (and the status reaper may write) schedules,
+        // so they run one after another once all repositories are loaded
+        steps.add(repositories
+            .thenCompose(v -> step(executor, listener, completed, "Building indexes", WarmUpService::buildIndexes))
+            .thenCompose(v -> step(executor, listener, completed, "Warming up pricing", WarmUpService::warmUpPricing)));
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((v, error) -> {
+                executor.shutdown();
+                SwingUtilities.invokeLater(() -> result.complete(null));
+            });
+        return result;
+    }
+
+    /**
+     * Runs one warm-up step in the background and reports it when done
+     * A failing step is logged so the remaining steps and the login still proceed
+     */
+    private static CompletableFuture<Void> step(ExecutorService executor, ProgressListener listener,
+                                                AtomicInteger completed, String stepName, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Warm-up step failed (" + stepName + "): " + e.getMessage());
+            }
+            int done = completed.incrementAndGet();
+            if (listener != null) {
+                SwingUtilities.invokeLater(() -> listener.onProgress(done, TOTAL_STEPS, stepName));
+            }
+        }, executor);
+    }
+
+    /**
+     * Builds the season rate tables for this year and next, and loads the demand tables
+     */
+    private static void buildSeasonTables() {
+        LocalDate today = LocalDate.now();
+        SeasonCalendar.getRate(today);
+        SeasonCalendar.getRate(today.plusYears(1));
+        DynamicPricingService.getDaysToDepartureRate(today, today);
+    }
+
+    /**
+     * Builds the flight status list (the first overview search), the booking views,
+     * the booking search index and the fare inventory counters
+     */
+    private static void buildIndexes() {
+        FlightStatusService.getSchedulesWithStatus();
+        BookingViewRepository.getAllViews();
+        BookingAnalyticsRepository.getAllStats();
+        BookingSearchService.loadIndex();
+        for (Schedule schedule : ScheduleRepository.getAllSchedules()) {
+            FareBucketService.getSoldSeats(schedule.getScheduleId());
+        }
+    }
+
+    /**
+     * Runs the full pricing path over the known flights so its classes and caches are ready before the first booking
+     * Prices are computed and discarded; nothing is written
+     */
+    private static void warmUpPricing() {
+        List<Flight> flights = FlightRepository.getAllFlights();
+        List<Schedule> schedules = ScheduleRepository.getAllSchedules();
+        if (flights.isEmpty()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int round = 0; round < PRICING_ROUNDS; round++) {
+            Flight flight = flights.get(round % flights.size());
+            FareBucket bucket = null;
+            if (!schedules.isEmpty()) {
+                bucket = FareBucketService.findLowestOpenBucket(schedules.get(round % schedules.size()), 1);
+            }
+            LocalDate departure = today.plusDays(DAY_OFFSETS[round % DAY_OFFSETS.length]);
+            String seatPreference = SEAT_PREFERENCES[round % SEAT_PREFERENCES.length];
+            PriceCalculationService.calculatePrice(flight, bucket, 1 + round % 3, round % 2,
+                departure, seatPreference, null, null);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package kingsman.upair.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter over strings
+ * Answers "definitely not present" or "possibly present" from a fixed bit
+ * array, using k bit positions per key derived from one 64-bit hash
+ * (double hashing). Sized from an expected key count and a target false
+ * positive rate; once more keys than expected are added the false positive
+ * rate rises, which isFull reports so the owner can rebuild it larger
+ */
+public class BloomFilter {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int size;
+
+    /**
+     * Creates an empty filter
+     * @param expectedKeys Number of keys the filter is sized for
+     * @param falsePositiveRate Target false positive rate at that size (e.g. 0.01)
+     */
+    public BloomFilter(int expectedKeys, double falsePositiveRate) {
+        this.capacity = Math.max(1, expectedKeys);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.bitCount = 64L * bits.length;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+    }
+
+    private BloomFilter(long[] bits, int hashCount, int capacity, int size) {
+        this.bits = bits;
+        this.bitCount = 64L * bits.length;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    /**
+     * Adds a key
+     * @param key The key (compared exactly; normalize case before adding)
+     */
+    public void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    /**
+     * Checks a key
+     * @param key The key
+     * @return false if the key was never added, true if it possibly was
+     */
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if more keys were added than the filter is sized for
+     * @return true if the filter should be rebuilt larger
+     */
+    public boolean isFull() {
+        return size > capacity;
+    }
+
+    /**
+     * Gets the number of keys added
+     * @return Key count (including repeated keys)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Writes the filter
+     * @param out The stream
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(hashCount);
+        out.writeInt(capacity);
+        out.writeInt(size);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by writeTo
+     * @param in The stream
+     * @return The filter
+     * @throws IOException If reading fails or the data is not a filter in this format
+     */
+    public static BloomFilter readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported filter format");
+        }
+        int hashCount = in.readInt();
+        int capacity = in.readInt();
+        int size = in.readInt();
+        int words = in.readInt();
+        if (hashCount < 1 || capacity < 1 || size < 0 || words < 1) {
+            throw new IOException("Corrupt filter header");
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bits, hashCount, capacity, size);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a mixing step so both halves are well spread
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
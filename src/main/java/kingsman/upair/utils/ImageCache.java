@@ -0,0 +1,244 @@
+package kingsman.upair.utils;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for loading image assets from /upairimage
+ * Each PNG is decoded once, and scaled variants are produced on demand and cached
+ * alongside it. Entries are held through soft references in an access-ordered map
+ * with a pixel-memory budget, so the least recently used images are evicted first
+ * and the garbage collector can still reclaim any of them under memory pressure
+ */
+public class ImageCache {
+
+    private static final String IMAGE_FOLDER = "/upairimage/";
+
+    // Window icon asset and the sizes platforms pick from (title bar, task bar, Alt+Tab)
+    private static final String WINDOW_ICON = "Plane.png";
+    private static final int[] WINDOW_ICON_SIZES = {16, 24, 32, 40};
+
+    // Upper bound on decoded pixel memory kept by the cache (ARGB, 4 bytes per pixel)
+    private static final long MAX_CACHE_BYTES = 32L * 1024 * 1024;
+
+    // Key: asset name, or asset name@widthxheight for scaled variants
+    private static final Map<String, CacheEntry> cache = new LinkedHashMap<>(32, 0.75f, true);
+    private static long cachedBytes = 0L;
+
+    private static class CacheEntry {
+        final SoftReference<BufferedImage> image;
+        final long bytes;
+
+        CacheEntry(BufferedImage image) {
+            this.image = new SoftReference<>(image);
+            this.bytes = 4L * image.getWidth() * image.getHeight();
+        }
+    }
+
+    /**
+     * Gets a decoded image asset at its original size
+     * @param name Asset file name (e.g. "Plane.png")
+     * @return The image, or null if the asset is missing or unreadable
+     */
+    public static BufferedImage getImage(String name) {
+        BufferedImage image = lookup(name);
+        if (image != null) {
+            return image;
+        }
+
+        image = decode(name);
+        if (image != null) {
+            store(name, image);
+        }
+        return image;
+    }
+
+    /**
+     * Gets a scaled variant of an image asset
+     * @param name Asset file name
+     * @param width Width in pixels
+     * @param height Height in pixels
+     * @return The scaled image, or null if the asset is missing or unreadable
+     */
+    public static BufferedImage getScaledImage(String name, int width, int height) {
+        BufferedImage original = getImage(name);
+        if (original == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        if (original.getWidth() == width && original.getHeight() == height) {
+            return original;
+        }
+
+        String key = name + "@" + width + "x" + height;
+        BufferedImage scaled = lookup(key);
+        if (scaled == null) {
+            scaled = scale(original, width, height);
+            store(key, scaled);
+        }
+        return scaled;
+    }
+
+    /**
+     * Gets an icon for an image asset at its original size
+     * @param name Asset file name
+     * @return The icon, or null if the asset is missing or unreadable
+     */
+    public static ImageIcon getIcon(String name) {
+        BufferedImage image = getImage(name);
+        return image != null ? new ImageIcon(image) : null;
+    }
+
+    /**
+     * Gets an icon of a logical size that stays sharp on HiDPI screens
+     * The icon carries a 1x variant and, when the screen is scaled, a variant
+     * at the screen scale, and Swing paints whichever matches the device
+     * @param name Asset file name
+     * @param width Logical width
+     * @param height Logical height
+     * @return The icon, or null if the asset is missing or unreadable
+     */
+    public static ImageIcon getIcon(String name, int width, int height) {
+        BufferedImage base = getScaledImage(name, width, height);
+        if (base == null) {
+            return null;
+        }
+
+        double scale = getScreenScale();
+        if (scale <= 1.0) {
+            return new ImageIcon(base);
+        }
+        BufferedImage hiDpi = getScaledImage(name, (int) Math.round(width * scale), (int) Math.round(height * scale));
+        return new ImageIcon(new BaseMultiResolutionImage(base, hiDpi));
+    }
+
+    /**
+     * Gets variants of an asset for window icons (title bar, task bar, Alt+Tab)
+     * @param name Asset file name
+     * @param sizes Square sizes in pixels (e.g. 16, 32, 64)
+     * @return The variants that could be loaded
+     */
+    public static List<Image> getIconImages(String name, int... sizes) {
+        List<Image> images = new ArrayList<>();
+        for (int size : sizes) {
+            BufferedImage image = getScaledImage(name, size, size);
+            if (image != null) {
+                images.add(image);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Gets the application window icons
+     * @return Window icon variants for Window.setIconImages
+     */
+    public static List<Image> getWindowIcons() {
+        return getIconImages(WINDOW_ICON, WINDOW_ICON_SIZES);
+    }
+
+    /**
+     * Clears the cache
+     */
+    public static synchronized void clearCache() {
+        cache.clear();
+        cachedBytes = 0L;
+    }
+
+    private static synchronized BufferedImage lookup(String key) {
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        BufferedImage image = entry.image.get();
+        if (image == null) {
+            // Reclaimed by the garbage collector
+            cache.remove(key);
+            cachedBytes -= entry.bytes;
+        }
+        return image;
+    }
+
+    private static synchronized void store(String key, BufferedImage image) {
+        CacheEntry previous = cache.put(key, new CacheEntry(image));
+        if (previous != null) {
+            cachedBytes -= previous.bytes;
+        }
+        cachedBytes += cache.get(key).bytes;
+
+        // Evict least recently used entries until back under budget (never the new one)
+        Iterator<Map.Entry<String, CacheEntry>> iterator = cache.entrySet().iterator();
+        while (cachedBytes > MAX_CACHE_BYTES && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                break;
+            }
+            cachedBytes -= eldest.getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Decodes an asset outside the cache lock, so different assets decode in parallel
+     */
+    private static BufferedImage decode(String name) {
+        try (InputStream in = ImageCache.class.getResourceAsStream(IMAGE_FOLDER + name)) {
+            if (in == null) {
+                System.err.println("Image asset not found: " + name);
+                return null;
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            System.err.println("Error loading image " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scales an image, halving in steps when shrinking a lot so the result stays smooth
+     */
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = step.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2.dispose();
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    /**
+     * Gets the scale factor of the default screen (1.0 when headless)
+     */
+    private static double getScreenScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1.0;
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.getDefaultTransform().getScaleX();
+    }
+}
@@ -0,0 +1,178 @@
+package kingsman.upair.utils;
+
+/**
+ * Utility class for exact money arithmetic
+ * Amounts are primitive long values in centavos (1 PHP = 100 centavos) so the
+ * pricing pipeline, booking persistence and reporting sums never allocate and
+ * never drift from floating point rounding
+ * Multipliers are expressed as integer rates in basis points (10000 = 1.0x)
+ */
+public final class Money {
+
+    public static final long CENTAVOS_PER_PESO = 100L;
+    public static final int RATE_SCALE = 10000; // 10000 basis points = 1.0x
+
+    private static final String CURRENCY_PREFIX = "PHP";
+
+    private Money() {
+    }
+
+    /**
+     * Converts a peso amount (e.g. an admin-entered base fare) to centavos
+     * @param pesos Amount in pesos
+     * @return Amount in centavos, rounded half-up
+     */
+    public static long ofPesos(double pesos) {
+        return Math.round(pesos * CENTAVOS_PER_PESO);
+    }
+
+    /**
+     * Converts a decimal multiplier constant (e.g. 1.15) to a basis point rate
+     * @param multiplier The multiplier
+     * @return Rate in basis points
+     */
+    public static int rateOf(double multiplier) {
+        return (int) Math.round(multiplier * RATE_SCALE);
+    }
+
+    /**
+     * Applies a basis point rate to an amount
+     * Uses integer arithmetic only, rounding half-up to the nearest centavo
+     * @param centavos Amount in centavos
+     * @param rate Rate in basis points (10000 = unchanged)
+     * @return Adjusted amount in centavos
+     */
+    public static long applyRate(long centavos, int rate) {
+        return Math.floorDiv(Math.multiplyExact(centavos, (long) rate) + RATE_SCALE / 2, RATE_SCALE);
+    }
+
+    /**
+     * Multiplies an amount by a quantity (e.g. a per-person fare by passenger count)
+     * @param centavos Amount in centavos
+     * @param quantity Quantity
+     * @return Total in centavos
+     */
+    public static long times(long centavos, int quantity) {
+        return Math.multiplyExact(centavos, (long) quantity);
+    }
+
+    /**
+     * Parses a decimal amount exactly, without going through double
+     * Accepts stored values ("2600.0", "2600.00") and display values ("PHP 2,600.00")
+     * Digits beyond the second decimal place are rounded half-up
+     *
+     * @param text The amount text
+     * @return Amount in centavos
+     * @throws NumberFormatException if the text is not a valid amount
+     */
+    public static long parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("Amount is null");
+        }
+
+        String value = text.trim();
+        if (value.startsWith(CURRENCY_PREFIX)) {
+            value = value.substring(CURRENCY_PREFIX.length()).trim();
+        }
+
+        int index = 0;
+        boolean negative = false;
+        if (!value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+
+        long whole = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+
+        for (; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (c == ',' && !seenPoint) {
+                continue; // Thousands separator
+            }
+            if (c == '.' && !seenPoint) {
+                seenPoint = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid amount: " + text);
+            }
+            seenDigit = true;
+            int digit = c - '0';
+            if (!seenPoint) {
+                whole = Math.addExact(Math.multiplyExact(whole, 10L), digit);
+            } else if (fractionDigits < 2) {
+                fraction = fraction * 10 + digit;
+                fractionDigits++;
+            } else if (fractionDigits == 2) {
+                roundUp = digit >= 5;
+                fractionDigits++;
+            }
+        }
+
+        if (!seenDigit) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+
+        long centavos = Math.addExact(Math.multiplyExact(whole, CENTAVOS_PER_PESO), fraction);
+        if (roundUp) {
+            centavos = Math.addExact(centavos, 1L);
+        }
+        return negative ? -centavos : centavos;
+    }
+
+    /**
+     * Formats an amount for storage, e.g. "2600.00"
+     * @param centavos Amount in centavos
+     * @return Plain decimal string with two fraction digits
+     */
+    public static String toPlainString(long centavos) {
+        return appendAmount(new StringBuilder(16), centavos, false).toString();
+    }
+
+    /**
+     * Formats an amount for display, e.g. "PHP 2,600.00"
+     * @param centavos Amount in centavos
+     * @return Display string with currency prefix and grouping separators
+     */
+    public static String format(long centavos) {
+        StringBuilder sb = new StringBuilder(20).append(CURRENCY_PREFIX).append(' ');
+        return appendAmount(sb, centavos, true).toString();
+    }
+
+    /**
+     * Appends a decimal representation of the amount to the builder
+     */
+    private static StringBuilder appendAmount(StringBuilder sb, long centavos, boolean grouped) {
+        if (centavos < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(centavos);
+        String whole = Long.toString(abs / CENTAVOS_PER_PESO);
+
+        if (grouped) {
+            int firstGroup = whole.length() % 3 == 0 ? 3 : whole.length() % 3;
+            sb.append(whole, 0, firstGroup);
+            for (int i = firstGroup; i < whole.length(); i += 3) {
+                sb.append(',').append(whole, i, i + 3);
+            }
+        } else {
+            sb.append(whole);
+        }
+
+        long fraction = abs % CENTAVOS_PER_PESO;
+        sb.append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,136 @@
+package kingsman.upair.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Utility class for salted password hashing with PBKDF2 (HmacSHA256)
+ * Stored form: pbkdf2$iterations$salt$hash (salt and hash in Base64), so each
+ * record carries its own work factor and older records keep verifying after
+ * the default is raised. Records in the older reversible format
+ * (see PasswordEncryption) are still accepted and reported by needsRehash
+ *
+ * The work factor defaults to DEFAULT_ITERATIONS and can be tuned with the
+ * upair.password.iterations system property (see PassengerLoginBenchmark)
+ */
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2";
+    private static final String SEPARATOR = "$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    public static final int DEFAULT_ITERATIONS = 120_000;
+    public static final int MIN_ITERATIONS = 10_000;
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final int iterations = Math.max(MIN_ITERATIONS,
+        Integer.getInteger("upair.password.iterations", DEFAULT_ITERATIONS));
+
+    /**
+     * Hashes a password with a fresh salt at the configured work factor
+     * @param password The plain text password
+     * @return The stored form
+     */
+    public static String hash(String password) {
+        return hash(password, iterations);
+    }
+
+    /**
+     * Hashes a password with a fresh salt at the given work factor
+     * @param password The plain text password
+     * @param iterationCount PBKDF2 iterations
+     * @return The stored form
+     */
+    public static String hash(String password, int iterationCount) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterationCount);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return String.join(SEPARATOR, PREFIX, String.valueOf(iterationCount),
+            encoder.encodeToString(salt), encoder.encodeToString(hash));
+    }
+
+    /**
+     * Checks a password against a stored record, hashed or legacy
+     * @param password The password entered
+     * @param stored The stored record
+     * @return true if the password matches
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null || stored.isEmpty()) {
+            return false;
+        }
+
+        if (!isHashed(stored)) {
+            byte[] expected = PasswordEncryption.decrypt(stored).getBytes(StandardCharsets.UTF_8);
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), expected);
+        }
+
+        String[] parts = stored.split("\\" + SEPARATOR);
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterationCount = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(password, salt, iterationCount), expected);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Malformed password record: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a stored record should be replaced after a successful login
+     * @param stored The stored record
+     * @return true for legacy records and hashes below the configured work factor
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\" + SEPARATOR);
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Checks if a stored record is a PBKDF2 hash (rather than a legacy record)
+     * @param stored The stored record
+     * @return true if hashed
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + SEPARATOR);
+    }
+
+    /**
+     * Gets the configured work factor
+     * @return PBKDF2 iterations used for new hashes
+     */
+    public static int getIterations() {
+        return iterations;
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterationCount) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterationCount, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // Every Java platform since 8 provides PBKDF2WithHmacSHA256
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
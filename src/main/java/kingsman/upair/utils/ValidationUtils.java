@@ -1,5 +1,7 @@
 package kingsman.upair.utils;
 
+import java.util.regex.Pattern;
+
 /**
  * Utility class for validation operations
  * Follows Single Responsibility Principle
@@ -16,6 +18,9 @@ public class ValidationUtils {
     // Minimum password length
     private static final int MIN_PASSWORD_LENGTH = 8;
     
+    // Compiled once; validation runs per row during bulk imports
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]+$");
+    
     /**
      * Validates username format
      * Rules: 5-20 characters, letters, numbers, and underscore only
@@ -38,7 +43,7 @@ public class ValidationUtils {
         }
         
         // Check if contains only letters, numbers, and underscore
-        if (!trimmedUsername.matches("^[a-zA-Z0-9_]+$")) {
+        if (!USERNAME_PATTERN.matcher(trimmedUsername).matches()) {
             return new ValidationResult(false, 
                 "Username must contain only letters, numbers, and underscore!");
         }
@@ -0,0 +1,141 @@
+package kingsman.upair.benchmark;
+
+import kingsman.upair.model.Booking;
+import kingsman.upair.model.BookingView;
+import kingsman.upair.repository.BookingRepository;
+import kingsman.upair.service.BookingSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Manage Bookings search (BookingSearchService) on
+ * synthetic bookings: index build and typical queries, with the filter and
+ * result limit used by AdminFrame
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BookingSearch"
+ *
+ * Setup rewrites the booking file of the working directory, so it refuses to
+ * run anywhere but target/benchmark. Passengers have no profiles, so the views
+ * show their usernames (first.last + number) as names
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingSearchBenchmark {
+
+    private static final String BOOKING_FILE = "BKpassenger_data.txt";
+    private static final int SEARCH_LIMIT = 500; // As in AdminFrame
+
+    private static final String[] FIRST_NAMES = {
+        "maria", "jose", "juan", "ana", "mark", "angel", "john", "rosa", "carlo", "grace",
+        "paolo", "joy", "miguel", "andrea", "rafael", "bea", "vincent", "liza", "ramon", "kim"
+    };
+    private static final String[] LAST_NAMES = {
+        "santos", "reyes", "cruz", "bautista", "ocampo", "garcia", "mendoza", "torres", "tomas", "andrada",
+        "castillo", "flores", "villanueva", "ramos", "castro", "rivera", "aquino", "navarro", "salazar", "mercado"
+    };
+    private static final String[] FLIGHT_CODES = {
+        "DG 6515", "DG 6516", "PR 2921", "PR 2922", "5J 325", "5J 326", "Z2 221", "Z2 222"
+    };
+
+    @Param({"30000", "300000"})
+    public int bookings;
+
+    @Setup(Level.Trial)
+    public void createBookings() {
+        if (BookingRepository.getAllBookings().size() != bookings) {
+            if (!new File("").getAbsoluteFile().getName().equals("benchmark")) {
+                throw new IllegalStateException("Run from target/benchmark (mvn -Pbenchmark ...), setup rewrites " + BOOKING_FILE);
+            }
+            new File(BOOKING_FILE).delete();
+            BookingRepository.clearCache();
+
+            Random random = new Random(42); // Same bookings on every run
+            LocalDate firstDate = LocalDate.of(2025, 1, 1);
+            for (int i = 0; i < bookings; i++) {
+                String username = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "."
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(100);
+                Booking booking = new Booking(String.format("BK-%08d", i), username, "One Way",
+                    FLIGHT_CODES[random.nextInt(FLIGHT_CODES.length)], "Daraga(DRP)", "Manila(MNL)",
+                    firstDate.plusDays(random.nextInt(365)), LocalTime.of(12, 0), 1, 0,
+                    Collections.singletonList("A1"), Collections.singletonList(username),
+                    260_000L, i % 4 == 0 ? "Cancelled" : "Pending");
+                booking.setPaymentType(i % 2 == 0 ? "Cash" : "Online");
+                if (!BookingRepository.saveBooking(booking)) {
+                    throw new IllegalStateException("Could not save benchmark booking " + i);
+                }
+            }
+        }
+        BookingSearchService.loadIndex();
+    }
+
+    /**
+     * Full index build from the booking views
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void buildIndex() {
+        BookingSearchService.clearCache();
+        BookingSearchService.loadIndex();
+    }
+
+    /**
+     * Two characters, answered from the token index
+     */
+    @Benchmark
+    public List<BookingView> shortPrefix() {
+        return search("ma");
+    }
+
+    /**
+     * Common name, answered from the trigram index
+     */
+    @Benchmark
+    public List<BookingView> commonName() {
+        return search("santos");
+    }
+
+    /**
+     * Part of one booking ID
+     */
+    @Benchmark
+    public List<BookingView> bookingIdFragment() {
+        return search("00012345");
+    }
+
+    /**
+     * Query that matches nothing
+     */
+    @Benchmark
+    public List<BookingView> noMatch() {
+        return search("qzx");
+    }
+
+    private static List<BookingView> search(String query) {
+        return BookingSearchService.search(query, BookingView::isPendingAction, SEARCH_LIMIT);
+    }
+}
@@ -0,0 +1,81 @@
+package kingsman.upair.benchmark;
+
+import kingsman.upair.model.Account;
+import kingsman.upair.repository.PassengerRepository;
+import kingsman.upair.service.PassengerLoginService;
+import kingsman.upair.utils.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the kiosk login path (PassengerLoginService.validatePassenger)
+ * for choosing the PasswordHasher work factor. Run it with the work factor under
+ * test and as many threads as kiosks, and keep the highest count whose
+ * throughput still meets the target:
+ *
+ * mvn -Pbenchmark test-compile exec:exec
+ *     -Djmh.args="PassengerLogin -t 4 -jvmArgsAppend -Dupair.password.iterations=120000"
+ *
+ * The benchmark account is (re)written in the working directory (target/benchmark)
+ * at the configured work factor, so logins never trigger a rehash
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PassengerLoginBenchmark {
+
+    private static final String USERNAME = "benchmark_kiosk";
+    private static final String PASSWORD = "kiosk@2024";
+
+    @Setup(Level.Trial)
+    public void createAccount() {
+        // Re-hash on every run, as an earlier run may have used another work factor
+        boolean saved = PassengerRepository.getAccountByUsername(USERNAME) == null
+            ? PassengerRepository.saveAccount(new Account(USERNAME, PASSWORD))
+            : PassengerRepository.updatePasswordHash(USERNAME, PasswordHasher.hash(PASSWORD));
+        if (!saved) {
+            throw new IllegalStateException("Could not create the benchmark account");
+        }
+        if (!PassengerLoginService.validatePassenger(USERNAME, PASSWORD)) {
+            throw new IllegalStateException("Benchmark account does not verify");
+        }
+    }
+
+    /**
+     * Successful login
+     */
+    @Benchmark
+    public boolean validLogin() {
+        return PassengerLoginService.validatePassenger(USERNAME, PASSWORD);
+    }
+
+    /**
+     * Wrong password for an existing account
+     */
+    @Benchmark
+    public boolean wrongPassword() {
+        return PassengerLoginService.validatePassenger(USERNAME, "wrong@2024");
+    }
+
+    /**
+     * Unknown username, verified against the dummy record
+     */
+    @Benchmark
+    public boolean unknownUsername() {
+        return PassengerLoginService.validatePassenger("no_such_kiosk", PASSWORD);
+    }
+}